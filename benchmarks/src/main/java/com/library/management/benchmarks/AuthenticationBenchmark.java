@@ -0,0 +1,64 @@
+package com.library.management.benchmarks;
+
+import com.library.management.dao.AdminDAOImpl;
+import com.library.management.dao.LibrarianDAOImpl;
+import com.library.management.dao.MemberDAOImpl;
+import com.library.management.entity.Member;
+import com.library.management.service.AuthenticationService;
+import com.library.management.service.PasswordHashingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Login cost end to end: DAO lookup plus password verification on the hashing pool
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class AuthenticationBenchmark {
+
+    @Param({"10000", "210000"})
+    private int iterations;
+
+    private AuthenticationService authenticationService;
+    private PasswordHashingService passwordHashingService;
+
+    @Setup
+    public void setUp() throws Exception {
+        DataSource dataSource = BenchmarkDatabase.create();
+        passwordHashingService = new PasswordHashingService(iterations, 2, 64);
+        BenchmarkDatabase.seedMember(dataSource, "reader", "reader@example.com", passwordHashingService.hash("correct horse"));
+        authenticationService = new AuthenticationService(new MemberDAOImpl(dataSource), new LibrarianDAOImpl(dataSource),
+                new AdminDAOImpl(dataSource), passwordHashingService);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingService.close();
+    }
+
+    @Benchmark
+    public Optional<Member> authenticateMember() {
+        return authenticationService.authenticateMember("reader@example.com", "correct horse");
+    }
+
+    @Benchmark
+    public Optional<Member> rejectWrongPassword() {
+        return authenticationService.authenticateMember("reader@example.com", "wrong");
+    }
+}
@@ -0,0 +1,98 @@
+package com.library.management.benchmarks;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded H2 database in MySQL mode with the application's schema, standing in for MySQL so
+ * benchmarks run anywhere. Absolute numbers differ from production; use them to compare changes.
+ * Note that H2 rejects Connector/J's streaming fetch size, so streamAll* methods cannot be measured here.
+ */
+public final class BenchmarkDatabase {
+
+    private static final AtomicInteger DATABASE_NUMBER = new AtomicInteger();
+    private static final String[] WORDS = {
+            "history", "garden", "river", "algorithm", "mountain", "silent", "library", "ocean", "winter", "pattern",
+            "journey", "kingdom", "theory", "shadow", "machine", "forest", "letters", "empire", "stone", "light"
+    };
+
+    private BenchmarkDatabase() {
+    }
+
+    public static DataSource create() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:library-" + DATABASE_NUMBER.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE books (book_id INT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255), author VARCHAR(255), " +
+                    "isbn VARCHAR(20) UNIQUE, quantity INT, available BOOLEAN, borrow_count INT NOT NULL DEFAULT 0)");
+            statement.execute("CREATE TABLE members (memberId INT AUTO_INCREMENT PRIMARY KEY, userName VARCHAR(100) UNIQUE, " +
+                    "email VARCHAR(255) UNIQUE, password VARCHAR(255), isActive BOOLEAN)");
+            statement.execute("CREATE TABLE librarians (librarianId INT AUTO_INCREMENT PRIMARY KEY, userName VARCHAR(100) UNIQUE, " +
+                    "password VARCHAR(255), email VARCHAR(255) UNIQUE)");
+            statement.execute("CREATE TABLE admins (adminId INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100), " +
+                    "email VARCHAR(255) UNIQUE, password VARCHAR(255))");
+            statement.execute("CREATE TABLE book_borrows (borrow_id INT AUTO_INCREMENT PRIMARY KEY, member_id INT, book_id INT, " +
+                    "borrow_date DATE, due_date DATE, return_date DATE)");
+        }
+        return dataSource;
+    }
+
+    public static void seedBooks(DataSource dataSource, int count) throws SQLException {
+        String sql = "INSERT INTO books (title, author, isbn, quantity, available) VALUES (?, ?, ?, ?, TRUE)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                statement.setString(1, title(i));
+                statement.setString(2, "Author " + WORDS[(i * 7) % WORDS.length] + " " + i);
+                statement.setString(3, String.format("978%010d", i));
+                statement.setInt(4, 1 + i % 5);
+                statement.addBatch();
+                if (i % 1000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public static void seedMembers(DataSource dataSource, int count) throws SQLException {
+        String sql = "INSERT INTO members (userName, email, password, isActive) VALUES (?, ?, ?, ?)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                statement.setString(1, "member" + i);
+                statement.setString(2, "member" + i + "@example.com");
+                statement.setString(3, "pbkdf2-sha256$210000$c2FsdHNhbHRzYWx0c2FsdA$aGFzaGhhc2hoYXNoaGFzaGhhc2hoYXNoaGFzaGhhc2g");
+                statement.setBoolean(4, i % 10 != 0);
+                statement.addBatch();
+                if (i % 1000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public static void seedMember(DataSource dataSource, String userName, String email, String password) throws SQLException {
+        String sql = "INSERT INTO members (userName, email, password, isActive) VALUES (?, ?, ?, TRUE)";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, userName);
+            statement.setString(2, email);
+            statement.setString(3, password);
+            statement.executeUpdate();
+        }
+    }
+
+    public static String title(int i) {
+        return "The " + WORDS[i % WORDS.length] + " of " + WORDS[(i / WORDS.length) % WORDS.length] + " volume " + i;
+    }
+}
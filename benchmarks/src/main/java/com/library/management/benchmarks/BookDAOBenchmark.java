@@ -0,0 +1,77 @@
+package com.library.management.benchmarks;
+
+import com.library.management.dao.BookDAO;
+import com.library.management.dao.BookDAOImpl;
+import com.library.management.dao.BookSearchMode;
+import com.library.management.entity.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// getAllBooks and getBooksPage are dominated by extractBookFromResultSet, so they also track the row mapper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookDAOBenchmark {
+
+    @Param({"10000"})
+    private int catalogueSize;
+
+    private BookDAO bookDAO;
+
+    @Setup
+    public void setUp() throws Exception {
+        DataSource dataSource = BenchmarkDatabase.create();
+        BenchmarkDatabase.seedBooks(dataSource, catalogueSize);
+        bookDAO = new BookDAOImpl(dataSource, BookSearchMode.LIKE);
+    }
+
+    @Benchmark
+    public Optional<Book> getBookById() {
+        return bookDAO.getBookById(1 + ThreadLocalRandom.current().nextInt(catalogueSize));
+    }
+
+    // A screen listing 50 loans: compare with 50 getBookById calls
+    @Benchmark
+    public Map<Integer, Book> getBooksByIds() {
+        List<Integer> ids = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            ids.add(1 + ThreadLocalRandom.current().nextInt(catalogueSize));
+        }
+        return bookDAO.getBooksByIds(ids);
+    }
+
+    @Benchmark
+    public List<Book> searchBooks() {
+        return bookDAO.searchBooks("algorithm of winter");
+    }
+
+    @Benchmark
+    public List<Book> getAllBooks() {
+        return bookDAO.getAllBooks();
+    }
+
+    @Benchmark
+    public List<Book> getBooksPage() {
+        return bookDAO.getBooksPage(ThreadLocalRandom.current().nextInt(catalogueSize), 20);
+    }
+}
@@ -0,0 +1,60 @@
+package com.library.management.benchmarks;
+
+import com.library.management.entity.Book;
+import com.library.management.service.BookSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx4g"})
+public class BookSearchIndexBenchmark {
+
+    @Param({"100000"})
+    private int catalogueSize;
+
+    private BookSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new BookSearchIndex();
+        for (int i = 1; i <= catalogueSize; i++) {
+            index.add(new Book(i, BenchmarkDatabase.title(i), "Author " + i, String.format("978%010d", i), 1, true));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> exactWord() {
+        return index.search("algorithm", 200);
+    }
+
+    @Benchmark
+    public List<Integer> prefixAndWord() {
+        return index.search("algo winter", 200);
+    }
+
+    @Benchmark
+    public List<Integer> substring() {
+        return index.search("gorith", 200);
+    }
+
+    @Benchmark
+    public List<Integer> isbn() {
+        return index.search("978-0000012345", 200);
+    }
+}
@@ -0,0 +1,52 @@
+package com.library.management.benchmarks;
+
+import com.library.management.dao.MemberDAO;
+import com.library.management.dao.MemberDAOImpl;
+import com.library.management.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full-table reads, where the cost is dominated by extractMemberFromResultSet
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MemberDAOBenchmark {
+
+    @Param({"10000"})
+    private int memberCount;
+
+    private MemberDAO memberDAO;
+
+    @Setup
+    public void setUp() throws Exception {
+        DataSource dataSource = BenchmarkDatabase.create();
+        BenchmarkDatabase.seedMembers(dataSource, memberCount);
+        memberDAO = new MemberDAOImpl(dataSource);
+    }
+
+    @Benchmark
+    public List<Member> getAllMembers() {
+        return memberDAO.getAllMembers();
+    }
+
+    @Benchmark
+    public List<Member> getActiveMembers() {
+        return memberDAO.getActiveMembers();
+    }
+}
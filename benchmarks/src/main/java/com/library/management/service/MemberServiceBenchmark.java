@@ -0,0 +1,49 @@
+package com.library.management.service;
+
+import com.library.management.benchmarks.BenchmarkDatabase;
+import com.library.management.dao.MemberDAOImpl;
+import com.library.management.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Lives in the service package to reach the package-private validateMember
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class MemberServiceBenchmark {
+
+    private MemberService memberService;
+    private PasswordHashingService passwordHashingService;
+    private final Member member = new Member("reader", "reader@example.com", "secret");
+
+    @Setup
+    public void setUp() throws Exception {
+        passwordHashingService = new PasswordHashingService(1000, 1, 16);
+        memberService = new MemberService(new MemberDAOImpl(BenchmarkDatabase.create()), passwordHashingService);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingService.close();
+    }
+
+    @Benchmark
+    public Member validateMember() {
+        memberService.validateMember(member);
+        return member;
+    }
+}
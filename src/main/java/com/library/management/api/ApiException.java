@@ -0,0 +1,18 @@
+package com.library.management.api;
+
+// Ends a request with the given HTTP status and a JSON error message
+class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int status() {
+        return status;
+    }
+}
@@ -0,0 +1,606 @@
+package com.library.management.api;
+
+import com.library.management.dao.LibrarianColumn;
+import com.library.management.dao.MemberColumn;
+import com.library.management.entity.Book;
+import com.library.management.entity.Librarian;
+import com.library.management.entity.Member;
+import com.library.management.service.AuthenticationService;
+import com.library.management.service.BookService;
+import com.library.management.service.LibrarianService;
+import com.library.management.service.MemberService;
+import com.library.management.session.ChangeTracker;
+import com.library.management.session.Role;
+import com.library.management.session.Session;
+import com.library.management.session.SessionStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * JSON over HTTP for the book, member, librarian and login services, on the JDK's built-in
+ * server. Every request runs on its own virtual thread, so a request blocked on MySQL or the
+ * password hashing pool costs a few kilobytes of heap instead of a platform thread; concurrency
+ * is bounded by the connection pool and the hashing pool, which reject with 503 when saturated.
+ * <p>
+ * {@code POST /api/login} opens a {@link Session} and returns its token for the
+ * {@code Authorization} header. Updates write only the columns whose values changed. Passwords
+ * are accepted in request bodies but never returned.
+ */
+public class ApiServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiServer.class);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final BookService bookService;
+    private final MemberService memberService;
+    private final LibrarianService librarianService;
+    private final AuthenticationService authenticationService;
+    private final SessionStore sessionStore;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    public ApiServer(BookService bookService, MemberService memberService, LibrarianService librarianService,
+                     AuthenticationService authenticationService, SessionStore sessionStore,
+                     InetSocketAddress address) throws IOException {
+        this.bookService = bookService;
+        this.memberService = memberService;
+        this.librarianService = librarianService;
+        this.authenticationService = authenticationService;
+        this.sessionStore = sessionStore;
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/api/login", endpoint(this::login));
+        server.createContext("/api/logout", endpoint(this::logout));
+        server.createContext("/api/books", endpoint(this::books));
+        server.createContext("/api/members", endpoint(this::members));
+        server.createContext("/api/librarians", endpoint(this::librarians));
+        server.start();
+        logger.info("API listening on http://{}:{}/api", address.getHostString(), server.getAddress().getPort());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    private record Request(String method, List<String> path, Map<String, String> query, String body, Session session) {
+    }
+
+    // Wraps a response body that should be sent with 201 Created
+    private record Created(Object body) {
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        // Returns the response body; null sends 204 No Content
+        Object handle(Request request);
+    }
+
+    private HttpHandler endpoint(Endpoint endpoint) {
+        return exchange -> {
+            try (exchange) {
+                int status;
+                Object body;
+                try {
+                    Object result = endpoint.handle(readRequest(exchange));
+                    if (result instanceof Created created) {
+                        status = 201;
+                        body = created.body();
+                    } else {
+                        status = result == null ? 204 : 200;
+                        body = result;
+                    }
+                } catch (Exception e) {
+                    status = statusOf(e);
+                    body = Map.of("error", status == 500 ? "Internal server error" : messageOf(e));
+                    if (status == 500) {
+                        logger.error("{} {} failed", exchange.getRequestMethod(), exchange.getRequestURI().getPath(), e);
+                    }
+                }
+                send(exchange, status, body);
+            }
+        };
+    }
+
+    // Services wrap validation failures in RuntimeException, so look down the cause chain
+    private static int statusOf(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApiException api) {
+                return api.status();
+            }
+            if (cause instanceof IllegalArgumentException) {
+                return 400;
+            }
+            if (cause instanceof RejectedExecutionException) {
+                return 503;
+            }
+        }
+        return 500;
+    }
+
+    private static String messageOf(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ApiException || cause instanceof IllegalArgumentException || cause instanceof RejectedExecutionException) {
+                return cause.getMessage();
+            }
+        }
+        return e.getMessage();
+    }
+
+    private Request readRequest(HttpExchange exchange) throws IOException {
+        String context = exchange.getHttpContext().getPath();
+        String rest = exchange.getRequestURI().getPath().substring(context.length());
+        List<String> path = new ArrayList<>();
+        for (String segment : rest.split("/")) {
+            if (!segment.isEmpty()) {
+                path.add(segment);
+            }
+        }
+        Map<String, String> query = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                query.putIfAbsent(key, value);
+            }
+        }
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body is too large");
+            }
+            body = new String(bytes, StandardCharsets.UTF_8);
+        }
+        Session session = null;
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            session = sessionStore.get(authorization.substring("Bearer ".length()).trim()).orElse(null);
+        }
+        return new Request(exchange.getRequestMethod(), path, query, body, session);
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // ---- Sessions ----
+
+    private Object login(Request request) {
+        requireMethod(request, "POST");
+        Map<String, Object> fields = fields(request);
+        Role role = roleOf(optionalString(fields, "role").orElse("member"));
+        String email = requiredString(fields, "email");
+        String password = requiredString(fields, "password");
+        Optional<Session> session;
+        try {
+            session = switch (role) {
+                case MEMBER -> authenticationService.authenticateMember(email, password).map(sessionStore::createMemberSession);
+                case LIBRARIAN -> authenticationService.authenticateLibrarian(email, password).map(sessionStore::createLibrarianSession);
+                case ADMIN -> authenticationService.authenticateAdmin(email, password).map(sessionStore::createAdminSession);
+            };
+        } catch (RejectedExecutionException e) {
+            // The hashing pool is saturated; the credentials were never checked
+            logger.warn("Login for {} rejected: {}", email, e.getMessage());
+            throw new ApiException(503, "Login is busy, please retry shortly");
+        }
+        Session user = session.orElseThrow(() -> new ApiException(401, "Invalid email or password"));
+        return Map.of("token", user.token(), "role", roleName(user.role()), "id", user.userId());
+    }
+
+    private Object logout(Request request) {
+        requireMethod(request, "POST");
+        sessionStore.invalidate(requireLogin(request).token());
+        return null;
+    }
+
+    private static Role roleOf(String name) {
+        try {
+            return Role.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Role must be member, librarian or admin");
+        }
+    }
+
+    private static String roleName(Role role) {
+        return role.name().toLowerCase(Locale.ROOT);
+    }
+
+    // ---- Books ----
+
+    private Object books(Request request) {
+        List<String> path = request.path();
+        if (path.isEmpty()) {
+            switch (request.method()) {
+                case "GET" -> {
+                    String keyword = request.query().get("q");
+                    List<Book> books = keyword != null
+                            ? bookService.searchBooks(keyword)
+                            : bookService.getBooksPage(intParam(request, "after", 0), pageSize(request));
+                    return books.stream().map(ApiServer::bookView).toList();
+                }
+                case "POST" -> {
+                    requireRole(request, Role.LIBRARIAN);
+                    Map<String, Object> fields = fields(request);
+                    Book book = new Book(requiredString(fields, "title"), requiredString(fields, "author"),
+                            requiredString(fields, "isbn"), optionalInt(fields, "quantity").orElse(1));
+                    bookService.addBook(book);
+                    return new Created(bookView(book));
+                }
+                default -> throw methodNotAllowed();
+            }
+        }
+        if (path.size() == 1 && "overdue".equals(path.get(0))) {
+            requireMethod(request, "GET");
+            requireRole(request, Role.LIBRARIAN);
+            return bookService.getOverdueBooks().stream().map(ApiServer::bookView).toList();
+        }
+        int bookId = idSegment(path);
+        switch (request.method()) {
+            case "GET" -> {
+                return bookView(bookService.getBookById(bookId).orElseThrow(() -> notFound("Book", bookId)));
+            }
+            case "PUT" -> {
+                requireRole(request, Role.LIBRARIAN);
+                Map<String, Object> fields = fields(request);
+                Book book = bookService.getBookById(bookId).orElseThrow(() -> notFound("Book", bookId));
+                optionalString(fields, "title").ifPresent(book::setTitle);
+                optionalString(fields, "author").ifPresent(book::setAuthor);
+                optionalString(fields, "isbn").ifPresent(book::setIsbn);
+                optionalInt(fields, "quantity").ifPresent(book::setQuantity);
+                optionalBoolean(fields, "available").ifPresent(book::setAvailable);
+                bookService.updateBook(book);
+                return bookView(book);
+            }
+            case "DELETE" -> {
+                requireRole(request, Role.LIBRARIAN);
+                if (!bookService.deleteBook(bookId)) {
+                    throw notFound("Book", bookId);
+                }
+                return null;
+            }
+            default -> throw methodNotAllowed();
+        }
+    }
+
+    // ---- Members ----
+
+    private Object members(Request request) {
+        List<String> path = request.path();
+        if (path.isEmpty()) {
+            switch (request.method()) {
+                case "GET" -> {
+                    requireRole(request, Role.LIBRARIAN);
+                    return memberService.getMembersPage(intParam(request, "after", 0), pageSize(request)).stream()
+                            .map(ApiServer::memberView).toList();
+                }
+                case "POST" -> {
+                    // Self-registration, as on the console's main menu
+                    Map<String, Object> fields = fields(request);
+                    String userName = requiredString(fields, "userName");
+                    String email = requiredString(fields, "email");
+                    if (memberService.isUserNameExists(userName)) {
+                        throw new ApiException(409, "Username already exists");
+                    }
+                    if (memberService.isEmailExists(email)) {
+                        throw new ApiException(409, "Email already exists");
+                    }
+                    Member member = new Member(userName, email, requiredString(fields, "password"));
+                    memberService.addMember(member);
+                    return new Created(memberView(member));
+                }
+                default -> throw methodNotAllowed();
+            }
+        }
+        int memberId = idSegment(path);
+        switch (request.method()) {
+            case "GET" -> {
+                requireSelfOr(request, Role.MEMBER, memberId, Role.LIBRARIAN);
+                return memberView(memberService.getMemberById(memberId).orElseThrow(() -> notFound("Member", memberId)));
+            }
+            case "PUT" -> {
+                requireSelfOr(request, Role.MEMBER, memberId, Role.LIBRARIAN);
+                Map<String, Object> fields = fields(request);
+                Optional<Boolean> active = optionalBoolean(fields, "active");
+                if (active.isPresent()) {
+                    requireRole(request, Role.LIBRARIAN);
+                }
+                // Members edit the copy held by their session; librarians edit a fresh read
+                ChangeTracker<Member, MemberColumn> tracker = request.session().is(Role.MEMBER)
+                        ? request.session().tracker(MemberColumn.class)
+                        : new ChangeTracker<>(memberService.getMemberById(memberId).orElseThrow(() -> notFound("Member", memberId)), MemberColumn.class);
+                tracker.lock().lock();
+                try {
+                    Member member = tracker.entity();
+                    Optional<String> email = optionalString(fields, "email");
+                    if (email.isPresent() && !email.get().equalsIgnoreCase(member.getEmail()) && memberService.isEmailExists(email.get())) {
+                        throw new ApiException(409, "Email already exists");
+                    }
+                    email.ifPresent(member::setEmail);
+                    optionalString(fields, "password").ifPresent(member::setPassword);
+                    active.ifPresent(member::setActive);
+                    memberService.updateMember(member);
+                    tracker.markClean();
+                    if (active.isPresent() && !active.get()) {
+                        sessionStore.invalidateUser(Role.MEMBER, memberId);
+                    }
+                    return memberView(member);
+                } catch (RuntimeException e) {
+                    tracker.revert();
+                    throw e;
+                } finally {
+                    tracker.lock().unlock();
+                }
+            }
+            case "DELETE" -> {
+                requireRole(request, Role.LIBRARIAN);
+                if (!memberService.deleteMember(memberId)) {
+                    throw notFound("Member", memberId);
+                }
+                sessionStore.invalidateUser(Role.MEMBER, memberId);
+                return null;
+            }
+            default -> throw methodNotAllowed();
+        }
+    }
+
+    // ---- Librarians ----
+
+    private Object librarians(Request request) {
+        List<String> path = request.path();
+        if (path.isEmpty()) {
+            requireRole(request, Role.ADMIN);
+            switch (request.method()) {
+                case "GET" -> {
+                    return librarianService.getLibrariansPage(intParam(request, "after", 0), pageSize(request)).stream()
+                            .map(ApiServer::librarianView).toList();
+                }
+                case "POST" -> {
+                    Map<String, Object> fields = fields(request);
+                    String userName = requiredString(fields, "userName");
+                    String email = requiredString(fields, "email");
+                    if (librarianService.isUserNameExists(userName)) {
+                        throw new ApiException(409, "Username already exists");
+                    }
+                    if (librarianService.isEmailExists(email)) {
+                        throw new ApiException(409, "Email already exists");
+                    }
+                    Librarian librarian = new Librarian(userName, requiredString(fields, "password"), email);
+                    librarianService.addLibrarian(librarian);
+                    return new Created(librarianView(librarian));
+                }
+                default -> throw methodNotAllowed();
+            }
+        }
+        int librarianId = idSegment(path);
+        switch (request.method()) {
+            case "GET" -> {
+                requireSelfOr(request, Role.LIBRARIAN, librarianId, Role.ADMIN);
+                return librarianView(librarianService.getLibrarianById(librarianId).orElseThrow(() -> notFound("Librarian", librarianId)));
+            }
+            case "PUT" -> {
+                requireSelfOr(request, Role.LIBRARIAN, librarianId, Role.ADMIN);
+                Map<String, Object> fields = fields(request);
+                // Librarians edit the copy held by their session; admins edit a fresh read
+                ChangeTracker<Librarian, LibrarianColumn> tracker = request.session().is(Role.LIBRARIAN)
+                        ? request.session().tracker(LibrarianColumn.class)
+                        : new ChangeTracker<>(librarianService.getLibrarianById(librarianId).orElseThrow(() -> notFound("Librarian", librarianId)), LibrarianColumn.class);
+                tracker.lock().lock();
+                try {
+                    Librarian librarian = tracker.entity();
+                    Optional<String> email = optionalString(fields, "email");
+                    if (email.isPresent() && !email.get().equalsIgnoreCase(librarian.getEmail()) && librarianService.isEmailExists(email.get())) {
+                        throw new ApiException(409, "Email already exists");
+                    }
+                    email.ifPresent(librarian::setEmail);
+                    optionalString(fields, "password").ifPresent(librarian::setPassword);
+                    librarianService.updateLibrarian(librarian);
+                    tracker.markClean();
+                    return librarianView(librarian);
+                } catch (RuntimeException e) {
+                    tracker.revert();
+                    throw e;
+                } finally {
+                    tracker.lock().unlock();
+                }
+            }
+            case "DELETE" -> {
+                requireRole(request, Role.ADMIN);
+                if (!librarianService.deleteLibrarian(librarianId)) {
+                    throw notFound("Librarian", librarianId);
+                }
+                sessionStore.invalidateUser(Role.LIBRARIAN, librarianId);
+                return null;
+            }
+            default -> throw methodNotAllowed();
+        }
+    }
+
+    // ---- Views: explicit fields so passwords never leave the server ----
+
+    private static Map<String, Object> bookView(Book book) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("bookId", book.getBookId());
+        view.put("title", book.getTitle());
+        view.put("author", book.getAuthor());
+        view.put("isbn", book.getIsbn());
+        view.put("quantity", book.getQuantity());
+        view.put("available", book.isAvailable());
+        return view;
+    }
+
+    private static Map<String, Object> memberView(Member member) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("memberId", member.getMemberId());
+        view.put("userName", member.getUserName());
+        view.put("email", member.getEmail());
+        view.put("active", member.isActive());
+        return view;
+    }
+
+    private static Map<String, Object> librarianView(Librarian librarian) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("librarianId", librarian.getLibrarianId());
+        view.put("userName", librarian.getUserName());
+        view.put("email", librarian.getEmail());
+        return view;
+    }
+
+    // ---- Access checks ----
+
+    private static Session requireLogin(Request request) {
+        if (request.session() == null) {
+            throw new ApiException(401, "Login required");
+        }
+        return request.session();
+    }
+
+    private static void requireRole(Request request, Role role) {
+        if (!requireLogin(request).is(role)) {
+            throw new ApiException(403, "Requires " + roleName(role) + " access");
+        }
+    }
+
+    // Allows the user the record belongs to, or anyone with the elevated role
+    private static void requireSelfOr(Request request, Role role, int id, Role elevatedRole) {
+        Session session = requireLogin(request);
+        boolean self = session.is(role) && session.userId() == id;
+        if (!self && !session.is(elevatedRole)) {
+            throw new ApiException(403, "Not allowed");
+        }
+    }
+
+    private static void requireMethod(Request request, String method) {
+        if (!request.method().equals(method)) {
+            throw methodNotAllowed();
+        }
+    }
+
+    private static ApiException methodNotAllowed() {
+        return new ApiException(405, "Method not allowed");
+    }
+
+    private static ApiException notFound(String what, int id) {
+        return new ApiException(404, what + " " + id + " not found");
+    }
+
+    // ---- Request parsing ----
+
+    private static int idSegment(List<String> path) {
+        if (path.size() != 1) {
+            throw new ApiException(404, "Not found");
+        }
+        try {
+            return Integer.parseInt(path.get(0));
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Not found");
+        }
+    }
+
+    private static int intParam(Request request, String name, int defaultValue) {
+        String value = request.query().get(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static int pageSize(Request request) {
+        return Math.min(intParam(request, "limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> fields(Request request) {
+        if (request.body().isBlank()) {
+            throw new IllegalArgumentException("Request body is required");
+        }
+        if (!(Json.parse(request.body()) instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("Request body must be a JSON object");
+        }
+        return (Map<String, Object>) map;
+    }
+
+    private static String requiredString(Map<String, Object> fields, String name) {
+        return optionalString(fields, name).orElseThrow(() -> new IllegalArgumentException(name + " is required"));
+    }
+
+    private static Optional<String> optionalString(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (!(value instanceof String text)) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return Optional.of(text);
+    }
+
+    private static Optional<Integer> optionalInt(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (!(value instanceof BigDecimal number)) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+        try {
+            return Optional.of(number.intValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+    }
+
+    private static Optional<Boolean> optionalBoolean(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (!(value instanceof Boolean flag)) {
+            throw new IllegalArgumentException(name + " must be true or false");
+        }
+        return Optional.of(flag);
+    }
+}
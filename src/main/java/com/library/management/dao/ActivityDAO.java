@@ -0,0 +1,12 @@
+package com.library.management.dao;
+
+import com.library.management.entity.MemberActivity;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ActivityDAO {
+    // Adds the borrow counts to books.borrow_count and the member activity to member_activity in one
+    // transaction, so a failed flush writes nothing and can be retried with the same deltas
+    void addActivity(Map<Integer, Long> borrowsByBook, Collection<MemberActivity> memberActivity);
+}
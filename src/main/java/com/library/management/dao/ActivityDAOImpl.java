@@ -0,0 +1,85 @@
+package com.library.management.dao;
+
+import com.library.management.entity.MemberActivity;
+import com.library.management.util.ReadWriteRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.Collection;
+import java.util.Map;
+
+public class ActivityDAOImpl implements ActivityDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityDAOImpl.class);
+    // Rows per executeBatch; the driver rewrites each batch into a few multi-row statements
+    private static final int BATCH_SIZE = 1_000;
+    private final ReadWriteRouter router;
+
+    // Constructor
+    public ActivityDAOImpl(DataSource dataSource) {
+        this(new ReadWriteRouter(dataSource));
+    }
+
+    public ActivityDAOImpl(ReadWriteRouter router) {
+        this.router = router;
+    }
+
+    // A deleted book matches no row, which drops its pending count
+    private static final String ADD_BORROW_COUNT = "UPDATE books SET borrow_count = borrow_count + ? WHERE book_id = ?";
+    private static final String UPSERT_MEMBER_ACTIVITY = "INSERT INTO member_activity (member_id, borrow_count, return_count, last_active_at) " +
+            "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE borrow_count = borrow_count + VALUES(borrow_count), " +
+            "return_count = return_count + VALUES(return_count), last_active_at = GREATEST(last_active_at, VALUES(last_active_at))";
+
+    @Override
+    public void addActivity(Map<Integer, Long> borrowsByBook, Collection<MemberActivity> memberActivity) {
+        if (borrowsByBook.isEmpty() && memberActivity.isEmpty()) {
+            return;
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement pstmt = connection.prepareStatement(ADD_BORROW_COUNT)) {
+                    int batched = 0;
+                    for (Map.Entry<Integer, Long> entry : borrowsByBook.entrySet()) {
+                        pstmt.setLong(1, entry.getValue());
+                        pstmt.setInt(2, entry.getKey());
+                        pstmt.addBatch();
+                        if (++batched % BATCH_SIZE == 0) {
+                            pstmt.executeBatch();
+                        }
+                    }
+                    if (batched % BATCH_SIZE != 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                try (PreparedStatement pstmt = connection.prepareStatement(UPSERT_MEMBER_ACTIVITY)) {
+                    int batched = 0;
+                    for (MemberActivity activity : memberActivity) {
+                        pstmt.setInt(1, activity.memberId());
+                        pstmt.setLong(2, activity.borrows());
+                        pstmt.setLong(3, activity.returns());
+                        pstmt.setTimestamp(4, Timestamp.valueOf(activity.lastActive()));
+                        pstmt.addBatch();
+                        if (++batched % BATCH_SIZE == 0) {
+                            pstmt.executeBatch();
+                        }
+                    }
+                    if (batched % BATCH_SIZE != 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Error writing activity for {} books and {} members", borrowsByBook.size(), memberActivity.size(), e);
+            throw new RuntimeException("Failed to write activity counters", e);
+        }
+    }
+}
@@ -7,4 +7,5 @@ import java.util.Optional;
 public interface AdminDAO {
     Optional<Admin> getAdminByEmail(String email);
     Optional<String> getStoredAdminPassword(int adminId);
+    boolean updateAdminPassword(int adminId, String password);
 }
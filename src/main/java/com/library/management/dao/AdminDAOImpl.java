@@ -18,7 +18,7 @@ public class AdminDAOImpl implements AdminDAO {
 
     @Override
     public Optional<Admin> getAdminByEmail(String email) {
-        String sql = "SELECT * FROM admins WHERE email = ?";
+        String sql = "SELECT " + ADMIN_COLUMNS + " FROM admins WHERE email = ?";
         try (Connection connection = dataSource.getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
 
@@ -34,12 +34,11 @@ public class AdminDAOImpl implements AdminDAO {
         return Optional.empty();
     }
 
-    private Admin extractAdminFromResultSet(ResultSet resultSet) throws SQLException {
-        int adminId = resultSet.getInt("adminId");
-        String name = resultSet.getString("name");
-        String email = resultSet.getString("email");
-        String password = resultSet.getString("password");
-        return new Admin(adminId, name, email, password);
+    // Read by position, in ADMIN_COLUMNS order
+    private static final String ADMIN_COLUMNS = "adminId, name, email, password";
+
+    private static Admin extractAdminFromResultSet(ResultSet resultSet) throws SQLException {
+        return new Admin(resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4));
     }
 
     private static final String SELECT_ADMIN_PASSWORD_SQL = "SELECT password FROM admins WHERE adminId = ?";
@@ -52,7 +51,7 @@ public class AdminDAOImpl implements AdminDAO {
             statement.setInt(1, adminId);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
-                    return Optional.of(resultSet.getString("password"));
+                    return Optional.of(resultSet.getString(1));
                 }
             }
         } catch (SQLException e) {
@@ -60,4 +59,20 @@ public class AdminDAOImpl implements AdminDAO {
         }
         return Optional.empty();
     }
+
+    private static final String UPDATE_ADMIN_PASSWORD_SQL = "UPDATE admins SET password = ? WHERE adminId = ?";
+
+    @Override
+    public boolean updateAdminPassword(int adminId, String password) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPDATE_ADMIN_PASSWORD_SQL)) {
+
+            statement.setString(1, password);
+            statement.setInt(2, adminId);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error updating admin password for ID: " + adminId, e);
+        }
+        return false;
+    }
 }
@@ -0,0 +1,27 @@
+package com.library.management.dao;
+
+import com.library.management.entity.BookBorrow;
+import com.library.management.entity.BorrowEvent;
+import com.library.management.entity.Member;
+import com.library.management.entity.OpenLoan;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookBorrowDAO {
+    // Records the loan and takes one copy off the shelf in a single transaction.
+    // Returns false (and writes nothing) when no copy is left.
+    boolean addBorrow(BookBorrow borrow);
+
+    // Closes the loan and puts the copy back on the shelf in a single transaction.
+    boolean returnBorrow(BookBorrow borrow, LocalDate returnDate);
+
+    List<BookBorrow> getActiveBorrowsByMember(Member member);
+
+    // Every loan not yet returned, in due-date order; caller must close the stream
+    Stream<OpenLoan> streamOpenLoans();
+
+    // Every loan made on or after the given date, returned or not, in no particular order; caller must close the stream
+    Stream<BorrowEvent> streamBorrowsSince(LocalDate since);
+}
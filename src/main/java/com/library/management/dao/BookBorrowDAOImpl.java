@@ -0,0 +1,159 @@
+package com.library.management.dao;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.BookBorrow;
+import com.library.management.entity.BorrowEvent;
+import com.library.management.entity.Member;
+import com.library.management.entity.OpenLoan;
+import com.library.management.util.ReadWriteRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class BookBorrowDAOImpl implements BookBorrowDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookBorrowDAOImpl.class);
+    private final ReadWriteRouter router;
+
+    // Constructor
+    public BookBorrowDAOImpl(DataSource dataSource) {
+        this(new ReadWriteRouter(dataSource));
+    }
+
+    public BookBorrowDAOImpl(ReadWriteRouter router) {
+        this.router = router;
+    }
+
+    private static final String ADD_BORROW = "INSERT INTO book_borrows (member_id, book_id, borrow_date, due_date) VALUES (?, ?, ?, ?)";
+    private static final String CLOSE_BORROW = "UPDATE book_borrows SET return_date = ? WHERE borrow_id = ? AND return_date IS NULL";
+
+    @Override
+    public boolean addBorrow(BookBorrow borrow) {
+        if (borrow == null || borrow.getMember() == null || borrow.getBook() == null) {
+            throw new IllegalArgumentException("Borrow must reference a member and a book");
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement addBorrow = connection.prepareStatement(ADD_BORROW, Statement.RETURN_GENERATED_KEYS)) {
+
+                if (!BookDAOImpl.decrementQuantity(connection, borrow.getBook().getBookId())) {
+                    connection.rollback();
+                    return false;
+                }
+
+                addBorrow.setInt(1, borrow.getMember().getMemberId());
+                addBorrow.setInt(2, borrow.getBook().getBookId());
+                addBorrow.setDate(3, Date.valueOf(borrow.getBorrowDate()));
+                addBorrow.setDate(4, Date.valueOf(borrow.getDueDate()));
+                addBorrow.executeUpdate();
+                try (ResultSet generatedKeys = addBorrow.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        borrow.setBorrowId(generatedKeys.getInt(1));
+                    }
+                }
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            logger.error("Error recording borrow: {}", borrow, e);
+            throw new RuntimeException("Failed to record borrow", e);
+        }
+    }
+
+    @Override
+    public boolean returnBorrow(BookBorrow borrow, LocalDate returnDate) {
+        if (borrow == null || borrow.getBorrowId() <= 0) {
+            throw new IllegalArgumentException("Borrow cannot be null and must have a valid ID");
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement closeBorrow = connection.prepareStatement(CLOSE_BORROW)) {
+
+                closeBorrow.setDate(1, Date.valueOf(returnDate));
+                closeBorrow.setInt(2, borrow.getBorrowId());
+                if (closeBorrow.executeUpdate() == 0) {
+                    // Already returned (e.g. from another desk); nothing to put back.
+                    connection.rollback();
+                    return false;
+                }
+
+                BookDAOImpl.incrementQuantity(connection, borrow.getBook().getBookId());
+                connection.commit();
+                borrow.setReturnDate(returnDate);
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            logger.error("Error recording return: {}", borrow, e);
+            throw new RuntimeException("Failed to record return", e);
+        }
+    }
+
+    @Override
+    public List<BookBorrow> getActiveBorrowsByMember(Member member) {
+        if (member == null || member.getMemberId() <= 0) {
+            throw new IllegalArgumentException("Member cannot be null and must have a valid ID");
+        }
+        String sql = "SELECT bb.borrow_id, bb.borrow_date, bb.due_date, " + BookDAOImpl.QUALIFIED_BOOK_COLUMNS + " " +
+                "FROM book_borrows bb JOIN books b ON b.book_id = bb.book_id " +
+                "WHERE bb.member_id = ? AND bb.return_date IS NULL";
+        List<BookBorrow> borrows = new ArrayList<>();
+        try (Connection connection = router.primary().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+
+            pstmt.setInt(1, member.getMemberId());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    borrows.add(extractBorrowFromResultSet(rs, member));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving active borrows for member ID: {}", member.getMemberId(), e);
+            throw new RuntimeException("Failed to retrieve active borrows", e);
+        }
+        return borrows;
+    }
+
+    // Read from the primary: the overdue index is seeded from this and must not miss recent loans
+    @Override
+    public Stream<OpenLoan> streamOpenLoans() {
+        return ResultSetStreams.stream(router.primary(),
+                "SELECT borrow_id, member_id, book_id, borrow_date, due_date FROM book_borrows WHERE return_date IS NULL ORDER BY due_date",
+                rs -> new OpenLoan(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getDate(4).toLocalDate(), rs.getDate(5).toLocalDate()));
+    }
+
+    @Override
+    public Stream<BorrowEvent> streamBorrowsSince(LocalDate since) {
+        return ResultSetStreams.stream(router.primary(),
+                "SELECT book_id, borrow_date FROM book_borrows WHERE borrow_date >= ?",
+                statement -> statement.setDate(1, Date.valueOf(since)),
+                rs -> new BorrowEvent(rs.getInt(1), rs.getDate(2).toLocalDate()));
+    }
+
+    // Positional: borrow_id, borrow_date, due_date, then the book columns
+    private BookBorrow extractBorrowFromResultSet(ResultSet rs, Member member) throws SQLException {
+        Book book = BookDAOImpl.extractBookFromResultSet(rs, 4);
+        BookBorrow borrow = new BookBorrow(member, book,
+                rs.getDate(2).toLocalDate(),
+                rs.getDate(3).toLocalDate());
+        borrow.setBorrowId(rs.getInt(1));
+        return borrow;
+    }
+}
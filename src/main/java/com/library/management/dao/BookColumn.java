@@ -0,0 +1,51 @@
+package com.library.management.dao;
+
+import com.library.management.entity.Book;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public enum BookColumn implements EntityColumn<Book> {
+    TITLE("title", "title", Book::getTitle,
+            (book, value) -> book.setTitle((String) value)),
+    AUTHOR("author", "author", Book::getAuthor,
+            (book, value) -> book.setAuthor((String) value)),
+    ISBN("isbn", "isbn", Book::getIsbn,
+            (book, value) -> book.setIsbn((String) value)),
+    QUANTITY("quantity", "quantity", Book::getQuantity,
+            (book, value) -> book.setQuantity((Integer) value)),
+    AVAILABLE("available", "available", Book::isAvailable,
+            (book, value) -> book.setAvailable((Boolean) value));
+
+    private final String columnName;
+    private final String property;
+    private final Function<Book, Object> getter;
+    private final BiConsumer<Book, Object> setter;
+
+    BookColumn(String columnName, String property, Function<Book, Object> getter, BiConsumer<Book, Object> setter) {
+        this.columnName = columnName;
+        this.property = property;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    public String columnName() {
+        return columnName;
+    }
+
+    @Override
+    public String property() {
+        return property;
+    }
+
+    @Override
+    public Object valueOf(Book book) {
+        return getter.apply(book);
+    }
+
+    @Override
+    public void set(Book book, Object value) {
+        setter.accept(book, value);
+    }
+}
@@ -2,15 +2,36 @@ package com.library.management.dao;
 
 import com.library.management.entity.Book;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookDAO {
     void addBook(Book book);
+
+    // Inserts all books with one JDBC batch in one transaction; sets and returns the generated IDs in input order.
+    List<Integer> addBooks(Collection<Book> books);
     void updateBook(Book book);
     boolean deleteBook(int bookId);
     Optional<Book> getBookById(int bookId);
+    Map<Integer, Book> getBooksByIds(Collection<Integer> bookIds); // Found books in request order; missing IDs are left out
     List<Book> searchBooks(String keyword);
     List<Book> getAllBooks();
+
+    // Keyset pagination: the next pageSize books with an ID greater than afterBookId, in ID order.
+    List<Book> getBooksPage(int afterBookId, int pageSize);
+
+    // Streams every book in ID order without materialising the table; the caller must close the stream.
+    Stream<Book> streamAllBooks();
     List<Book> getOverdueBooks();
+
+    // Takes one copy off the shelf only if one is left; false means nothing was changed.
+    boolean decrementQuantity(int bookId);
+    boolean incrementQuantity(int bookId);
+
+    // Drops any cached state for the book after it was changed outside this DAO (e.g. by the loan ledger).
+    default void invalidate(int bookId) {
+    }
 }
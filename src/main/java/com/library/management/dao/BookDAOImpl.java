@@ -1,6 +1,7 @@
 package com.library.management.dao;
 
 import com.library.management.entity.Book;
+import com.library.management.util.ReadWriteRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,17 +9,34 @@ import javax.sql.DataSource;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class BookDAOImpl implements BookDAO {
 
     private static final Logger logger = LoggerFactory.getLogger(BookDAOImpl.class);
-    private final DataSource dataSource;
+    // Listings, searches and streams may be served by a replica; writes and key lookups use the primary
+    private final ReadWriteRouter router;
+    private final BookSearchMode searchMode;
 
     // Constructor
     public BookDAOImpl(DataSource dataSource) {
-        this.dataSource = dataSource;
+        this(dataSource, BookSearchMode.fromEnvironment());
+    }
+
+    public BookDAOImpl(DataSource dataSource, BookSearchMode searchMode) {
+        this(new ReadWriteRouter(dataSource), searchMode);
+    }
+
+    public BookDAOImpl(ReadWriteRouter router, BookSearchMode searchMode) {
+        this.router = router;
+        this.searchMode = searchMode;
+        logger.info("Book search mode: {}", searchMode);
     }
 
     private static final String ADD_BOOK = "INSERT INTO books (title, author, isbn, quantity, available) VALUES (?, ?, ?, ?, ?)";
@@ -29,7 +47,7 @@ public class BookDAOImpl implements BookDAO {
             throw new IllegalArgumentException("Book cannot be null");
         }
         String sql = ADD_BOOK;
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.writer().getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setString(1, book.getTitle());
@@ -44,47 +62,136 @@ public class BookDAOImpl implements BookDAO {
                     book.setBookId(generatedKeys.getInt(1));
                 }
             }
+            book.markClean();
         } catch (SQLException e) {
             logger.error("Error adding book: {}", book, e);
             throw new RuntimeException("Failed to add book", e);
         }
     }
 
-    private static final String UPDATE_BOOK = "UPDATE books SET title = ?, author = ?, isbn = ?, quantity = ?, available = ? WHERE book_id = ?";
+    @Override
+    public List<Integer> addBooks(Collection<Book> books) {
+        if (books == null || books.contains(null)) {
+            throw new IllegalArgumentException("Books cannot be null");
+        }
+        List<Integer> ids = new ArrayList<>(books.size());
+        if (books.isEmpty()) {
+            return ids;
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(ADD_BOOK, Statement.RETURN_GENERATED_KEYS)) {
+                for (Book book : books) {
+                    pstmt.setString(1, book.getTitle());
+                    pstmt.setString(2, book.getAuthor());
+                    pstmt.setString(3, book.getIsbn());
+                    pstmt.setInt(4, book.getQuantity());
+                    pstmt.setBoolean(5, book.isAvailable());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+
+                // Keys come back in statement order, including when the driver rewrites the batch into a multi-row INSERT
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    for (Book book : books) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Driver returned fewer generated keys than inserted rows");
+                        }
+                        book.setBookId(generatedKeys.getInt(1));
+                        ids.add(book.getBookId());
+                    }
+                }
+                connection.commit();
+                books.forEach(Book::markClean);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            logger.error("Error adding batch of {} books", books.size(), e);
+            throw new RuntimeException("Failed to add books", e);
+        }
+        return ids;
+    }
 
     @Override
     public void updateBook(Book book) {
         if (book == null || book.getBookId() <= 0) {
             throw new IllegalArgumentException("Book cannot be null and must have a valid ID");
         }
-        String sql = UPDATE_BOOK;
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
-
-            pstmt.setString(1, book.getTitle());
-            pstmt.setString(2, book.getAuthor());
-            pstmt.setString(3, book.getIsbn());
-            pstmt.setInt(4, book.getQuantity());
-            pstmt.setBoolean(5, book.isAvailable());
-            pstmt.setInt(6, book.getBookId());
-
-            int rowsAffected = pstmt.executeUpdate();
+        // Only the columns whose setters changed a value since the last load or save
+        EnumSet<BookColumn> columns = PartialUpdate.columnsToWrite(book, BookColumn.class);
+        if (columns.isEmpty()) {
+            logger.debug("Book {} has no changes to write", book.getBookId());
+            return;
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            int rowsAffected = PartialUpdate.execute(connection, "books", "book_id", columns, book, book.getBookId());
             if (rowsAffected == 0) {
                 throw new RuntimeException("No book found with ID: " + book.getBookId());
             }
+            book.markClean();
         } catch (SQLException e) {
             logger.error("Error updating book: {}", book, e);
             throw new RuntimeException("Failed to update book", e);
         }
     }
 
+    // MySQL applies SET assignments left to right, so "available" sees the new quantity.
+    private static final String DECREMENT_QUANTITY = "UPDATE books SET quantity = quantity - 1, available = quantity > 0 WHERE book_id = ? AND quantity > 0";
+    private static final String INCREMENT_QUANTITY = "UPDATE books SET quantity = quantity + 1, available = TRUE WHERE book_id = ?";
+
+    @Override
+    public boolean decrementQuantity(int bookId) {
+        if (bookId <= 0) {
+            throw new IllegalArgumentException("Book ID must be positive");
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            return decrementQuantity(connection, bookId);
+        } catch (SQLException e) {
+            logger.error("Error decrementing quantity for book ID: {}", bookId, e);
+            throw new RuntimeException("Failed to decrement book quantity", e);
+        }
+    }
+
+    @Override
+    public boolean incrementQuantity(int bookId) {
+        if (bookId <= 0) {
+            throw new IllegalArgumentException("Book ID must be positive");
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            return incrementQuantity(connection, bookId);
+        } catch (SQLException e) {
+            logger.error("Error incrementing quantity for book ID: {}", bookId, e);
+            throw new RuntimeException("Failed to increment book quantity", e);
+        }
+    }
+
+    // Shared with BookBorrowDAOImpl so the loan ledger can run the same guarded update inside its transaction
+    static boolean decrementQuantity(Connection connection, int bookId) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(DECREMENT_QUANTITY)) {
+            pstmt.setInt(1, bookId);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    static boolean incrementQuantity(Connection connection, int bookId) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(INCREMENT_QUANTITY)) {
+            pstmt.setInt(1, bookId);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
     @Override
     public boolean deleteBook(int bookId) {
         if (bookId <= 0) {
             throw new IllegalArgumentException("Book ID must be positive");
         }
         String sql = "DELETE FROM books WHERE book_id = ?";
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.writer().getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
 
             pstmt.setInt(1, bookId);
@@ -102,8 +209,8 @@ public class BookDAOImpl implements BookDAO {
             throw new IllegalArgumentException("Book ID must be a positive integer");
         }
 
-        String sql = "SELECT * FROM books WHERE book_id = ?";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + BOOK_COLUMNS + " FROM books WHERE book_id = ?";
+        try (Connection connection = router.primary().getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
 
             pstmt.setInt(1, bookId);
@@ -119,16 +226,41 @@ public class BookDAOImpl implements BookDAO {
         return Optional.empty();
     }
 
-    private Book extractBookFromResultSet(ResultSet rs) throws SQLException {
-        int bookId = rs.getInt("book_id");
-        String title = rs.getString("title");
-        String author = rs.getString("author");
-        String isbn = rs.getString("isbn");
-        int quantity = rs.getInt("quantity");
-        boolean available = rs.getBoolean("available");
+    @Override
+    public Map<Integer, Book> getBooksByIds(Collection<Integer> bookIds) {
+        List<Integer> ids = IdBatchQuery.validate(bookIds, "Book");
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        try (Connection connection = router.primary().getConnection()) {
+            return IdBatchQuery.load(connection, "SELECT " + BOOK_COLUMNS + " FROM books WHERE book_id", ids,
+                    BookDAOImpl::extractBookFromResultSet, Book::getBookId);
+        } catch (SQLException e) {
+            logger.error("Error retrieving {} books by ID", ids.size(), e);
+            throw new RuntimeException("Failed to retrieve books", e);
+        }
+    }
+
+    // Columns are read by position, in BOOK_COLUMNS order, so rows are mapped without per-column label lookups
+    static final String BOOK_COLUMNS = "book_id, title, author, isbn, quantity, available, borrow_count";
+    static final String QUALIFIED_BOOK_COLUMNS = "b.book_id, b.title, b.author, b.isbn, b.quantity, b.available, b.borrow_count";
+
+    private static Book extractBookFromResultSet(ResultSet rs) throws SQLException {
+        return extractBookFromResultSet(rs, 1);
+    }
+
+    // firstColumn is the position of book_id, for queries that select other columns first
+    static Book extractBookFromResultSet(ResultSet rs, int firstColumn) throws SQLException {
+        int bookId = rs.getInt(firstColumn);
+        String title = rs.getString(firstColumn + 1);
+        String author = rs.getString(firstColumn + 2);
+        String isbn = rs.getString(firstColumn + 3);
+        int quantity = rs.getInt(firstColumn + 4);
+        boolean available = rs.getBoolean(firstColumn + 5);
+        int borrowCount = rs.getInt(firstColumn + 6);
 
         // Handle possible nulls if any field in Book can be null
-        return new Book(
+        Book book = new Book(
                 bookId,
                 title != null ? title : "Unknown Title", // Example of handling null
                 author != null ? author : "Unknown Author", // Example of handling null
@@ -136,6 +268,10 @@ public class BookDAOImpl implements BookDAO {
                 quantity,
                 available
         );
+        // Written by ActivityCounters, never by updateBook, so it is not a tracked property
+        book.setBorrowCount(borrowCount);
+        book.markClean();
+        return book;
     }
 
     @Override
@@ -144,32 +280,107 @@ public class BookDAOImpl implements BookDAO {
             throw new IllegalArgumentException("Search keyword cannot be null or empty");
         }
 
-        String sql = "SELECT * FROM books WHERE title LIKE ? OR author LIKE ? OR isbn LIKE ?";
-        List<Book> books = new ArrayList<>();
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = router.reader().getConnection()) {
+            if (searchMode == BookSearchMode.LIKE) {
+                return searchByLike(connection, keyword);
+            }
+            String trimmed = keyword.trim();
+            if (ISBN_SHAPE.matcher(trimmed).matches()) {
+                List<Book> books = searchByIsbn(connection, trimmed);
+                if (!books.isEmpty()) {
+                    return books;
+                }
+            }
+            return searchByFullText(connection, trimmed);
+        } catch (SQLException e) {
+            logger.error("Error searching books with keyword: {}", keyword, e);
+            throw new RuntimeException("Failed to search books", e);
+        }
+    }
 
+    private static final Pattern ISBN_SHAPE = Pattern.compile("[0-9][0-9-]{8,15}[0-9Xx]");
+
+    private List<Book> searchByLike(Connection connection, String keyword) throws SQLException {
+        String sql = "SELECT " + BOOK_COLUMNS + " FROM books WHERE title LIKE ? OR author LIKE ? OR isbn LIKE ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             String searchPattern = "%" + keyword + "%";
             pstmt.setString(1, searchPattern);
             pstmt.setString(2, searchPattern);
             pstmt.setString(3, searchPattern);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    books.add(extractBookFromResultSet(rs));
-                }
+            return executeBookQuery(pstmt);
+        }
+    }
+
+    // Exact match on the unique ISBN index, as typed and without hyphens, then an index range scan on the prefix
+    private List<Book> searchByIsbn(Connection connection, String isbn) throws SQLException {
+        String digits = isbn.replace("-", "");
+        String sql = "SELECT " + BOOK_COLUMNS + " FROM books WHERE isbn IN (?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, isbn);
+            pstmt.setString(2, digits);
+            List<Book> books = executeBookQuery(pstmt);
+            if (!books.isEmpty()) {
+                return books;
+            }
+        }
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT " + BOOK_COLUMNS + " FROM books WHERE isbn LIKE ? ORDER BY isbn")) {
+            pstmt.setString(1, escapeLike(isbn) + "%");
+            return executeBookQuery(pstmt);
+        }
+    }
+
+    private List<Book> searchByFullText(Connection connection, String keyword) throws SQLException {
+        String against;
+        String modifier;
+        if (searchMode == BookSearchMode.BOOLEAN) {
+            against = toBooleanQuery(keyword);
+            modifier = "IN BOOLEAN MODE";
+        } else {
+            against = keyword;
+            modifier = "IN NATURAL LANGUAGE MODE";
+        }
+        if (against.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT " + BOOK_COLUMNS + ", MATCH(title, author) AGAINST (? " + modifier + ") AS relevance FROM books " +
+                "WHERE MATCH(title, author) AGAINST (? " + modifier + ") ORDER BY relevance DESC";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, against);
+            pstmt.setString(2, against);
+            return executeBookQuery(pstmt);
+        }
+    }
+
+    // Every word is required and matches as a prefix; boolean operators typed by the user are dropped
+    private static String toBooleanQuery(String keyword) {
+        StringBuilder query = new StringBuilder();
+        for (String word : keyword.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+")) {
+            if (!word.isEmpty()) {
+                query.append(query.length() == 0 ? "" : " ").append('+').append(word).append('*');
+            }
+        }
+        return query.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private List<Book> executeBookQuery(PreparedStatement pstmt) throws SQLException {
+        List<Book> books = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                books.add(extractBookFromResultSet(rs));
             }
-        } catch (SQLException e) {
-            logger.error("Error searching books with keyword: {}", keyword, e);
-            throw new RuntimeException("Failed to search books", e);
         }
         return books;
     }
 
     @Override
     public List<Book> getAllBooks() {
-        String sql = "SELECT * FROM books";
+        String sql = "SELECT " + BOOK_COLUMNS + " FROM books";
         List<Book> books = new ArrayList<>();
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.reader().getConnection();
              Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -183,13 +394,44 @@ public class BookDAOImpl implements BookDAO {
         return books;
     }
 
+    @Override
+    public List<Book> getBooksPage(int afterBookId, int pageSize) {
+        if (afterBookId < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page cursor must not be negative and page size must be positive");
+        }
+        String sql = "SELECT " + BOOK_COLUMNS + " FROM books WHERE book_id > ? ORDER BY book_id LIMIT ?";
+        List<Book> books = new ArrayList<>(pageSize);
+        try (Connection connection = router.reader().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+
+            pstmt.setInt(1, afterBookId);
+            pstmt.setInt(2, pageSize);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    books.add(extractBookFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving books after ID: {}", afterBookId, e);
+            throw new RuntimeException("Failed to retrieve page of books", e);
+        }
+        return books;
+    }
+
+    // Read from the primary: the search index and the import ISBN check are seeded from this and must not miss recent books
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return ResultSetStreams.stream(router.primary(), "SELECT " + BOOK_COLUMNS + " FROM books ORDER BY book_id",
+                BookDAOImpl::extractBookFromResultSet);
+    }
+
     @Override
     public List<Book> getOverdueBooks() {
-        String sql = "SELECT b.* FROM books b " +
+        String sql = "SELECT " + QUALIFIED_BOOK_COLUMNS + " FROM books b " +
                 "JOIN book_borrows bb ON b.book_id = bb.book_id " +
                 "WHERE bb.return_date IS NULL AND bb.due_date < ?";
         List<Book> books = new ArrayList<>();
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.reader().getConnection();
              PreparedStatement pstmt = connection.prepareStatement(sql)) {
 
             pstmt.setDate(1, Date.valueOf(LocalDate.now()));
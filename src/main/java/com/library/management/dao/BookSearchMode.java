@@ -0,0 +1,32 @@
+package com.library.management.dao;
+
+import java.util.Locale;
+
+/**
+ * How BookDAOImpl.searchBooks queries MySQL.
+ * <ul>
+ *     <li>LIKE - substring scan over title, author and ISBN (no index needed, full table scan)</li>
+ *     <li>NATURAL_LANGUAGE - MATCH ... AGAINST in natural-language mode, ranked by relevance</li>
+ *     <li>BOOLEAN - MATCH ... AGAINST in boolean mode, every word required, words match as prefixes</li>
+ * </ul>
+ * The FULLTEXT modes need {@code FULLTEXT(title, author)} on books and also look up ISBN-shaped
+ * keywords directly through the unique index on {@code isbn}.
+ */
+public enum BookSearchMode {
+    LIKE,
+    NATURAL_LANGUAGE,
+    BOOLEAN;
+
+    // Reads BOOK_SEARCH_MODE, defaulting to LIKE
+    public static BookSearchMode fromEnvironment() {
+        String mode = System.getenv("BOOK_SEARCH_MODE");
+        if (mode == null || mode.isBlank()) {
+            return LIKE;
+        }
+        try {
+            return valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown BOOK_SEARCH_MODE: " + mode, e);
+        }
+    }
+}
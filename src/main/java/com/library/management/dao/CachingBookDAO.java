@@ -0,0 +1,166 @@
+package com.library.management.dao;
+
+import com.library.management.entity.Book;
+import com.library.management.util.BoundedCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of another BookDAO. Lookups by ID, keyword searches and the
+ * full catalogue are served from memory until they expire or a write through this DAO
+ * invalidates them. Callers always get copies, so mutating a returned Book never leaks into the cache.
+ */
+public class CachingBookDAO implements BookDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingBookDAO.class);
+    private static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    private final BookDAO delegate;
+    private final BoundedCache<Integer, Optional<Book>> booksById;
+    private final BoundedCache<String, List<Book>> searches;
+    private final BoundedCache<String, List<Book>> catalogue;
+
+    public CachingBookDAO(BookDAO delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public CachingBookDAO(BookDAO delegate, int maximumSize, long ttl, TimeUnit unit) {
+        this.delegate = delegate;
+        this.booksById = new BoundedCache<>(maximumSize, ttl, unit);
+        this.searches = new BoundedCache<>(maximumSize, ttl, unit);
+        this.catalogue = new BoundedCache<>(1, ttl, unit);
+    }
+
+    @Override
+    public void addBook(Book book) {
+        delegate.addBook(book);
+        invalidate(book.getBookId());
+    }
+
+    @Override
+    public List<Integer> addBooks(Collection<Book> books) {
+        try {
+            return delegate.addBooks(books);
+        } finally {
+            // New IDs only matter to cached misses, searches and the catalogue
+            booksById.invalidateAll();
+            searches.invalidateAll();
+            catalogue.invalidateAll();
+        }
+    }
+
+    @Override
+    public void updateBook(Book book) {
+        try {
+            delegate.updateBook(book);
+        } finally {
+            invalidate(book.getBookId());
+        }
+    }
+
+    @Override
+    public boolean deleteBook(int bookId) {
+        try {
+            return delegate.deleteBook(bookId);
+        } finally {
+            invalidate(bookId);
+        }
+    }
+
+    @Override
+    public boolean decrementQuantity(int bookId) {
+        try {
+            return delegate.decrementQuantity(bookId);
+        } finally {
+            invalidate(bookId);
+        }
+    }
+
+    @Override
+    public boolean incrementQuantity(int bookId) {
+        try {
+            return delegate.incrementQuantity(bookId);
+        } finally {
+            invalidate(bookId);
+        }
+    }
+
+    @Override
+    public Optional<Book> getBookById(int bookId) {
+        return booksById.get(bookId, delegate::getBookById).map(Book::new);
+    }
+
+    // Cached IDs are served from memory and only the misses go to the delegate, in one batch
+    @Override
+    public Map<Integer, Book> getBooksByIds(Collection<Integer> bookIds) {
+        Map<Integer, Optional<Book>> cached = booksById.getAll(IdBatchQuery.validate(bookIds, "Book"), misses -> {
+            Map<Integer, Book> found = delegate.getBooksByIds(misses);
+            Map<Integer, Optional<Book>> loaded = new HashMap<>();
+            for (Integer bookId : misses) {
+                loaded.put(bookId, Optional.ofNullable(found.get(bookId)));
+            }
+            return loaded;
+        });
+        Map<Integer, Book> books = new LinkedHashMap<>();
+        cached.forEach((bookId, book) -> book.ifPresent(value -> books.put(bookId, new Book(value))));
+        return books;
+    }
+
+    @Override
+    public List<Book> searchBooks(String keyword) {
+        return copyOf(searches.get(keyword, delegate::searchBooks));
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        return copyOf(catalogue.get("all", key -> delegate.getAllBooks()));
+    }
+
+    // Pages and streams exist to keep memory flat on large catalogues, so they bypass the cache
+    @Override
+    public List<Book> getBooksPage(int afterBookId, int pageSize) {
+        return delegate.getBooksPage(afterBookId, pageSize);
+    }
+
+    @Override
+    public Stream<Book> streamAllBooks() {
+        return delegate.streamAllBooks();
+    }
+
+    // Depends on today's date and on the loan ledger, neither of which this cache sees change
+    @Override
+    public List<Book> getOverdueBooks() {
+        return delegate.getOverdueBooks();
+    }
+
+    @Override
+    public void invalidate(int bookId) {
+        booksById.invalidate(bookId);
+        searches.invalidateAll();
+        catalogue.invalidateAll();
+        delegate.invalidate(bookId);
+    }
+
+    public void logStats() {
+        logger.info("Book cache stats - byId: {}, searches: {}, catalogue: {}", booksById, searches, catalogue);
+    }
+
+    private static List<Book> copyOf(List<Book> books) {
+        List<Book> copies = new ArrayList<>(books.size());
+        for (Book book : books) {
+            copies.add(new Book(book));
+        }
+        return copies;
+    }
+}
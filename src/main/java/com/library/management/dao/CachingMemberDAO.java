@@ -0,0 +1,137 @@
+package com.library.management.dao;
+
+import com.library.management.entity.Member;
+import com.library.management.util.BoundedCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache of members by ID in front of another MemberDAO, for screens and reports
+ * that resolve many member IDs. Lookups by email or username (logins, uniqueness checks) and
+ * listings always go to the delegate. Writes through this DAO invalidate the member, and
+ * callers always get copies.
+ */
+public class CachingMemberDAO implements MemberDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingMemberDAO.class);
+    private static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    private final MemberDAO delegate;
+    private final BoundedCache<Integer, Optional<Member>> membersById;
+
+    public CachingMemberDAO(MemberDAO delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public CachingMemberDAO(MemberDAO delegate, int maximumSize, long ttl, TimeUnit unit) {
+        this.delegate = delegate;
+        this.membersById = new BoundedCache<>(maximumSize, ttl, unit);
+    }
+
+    @Override
+    public void addMember(Member member) {
+        try {
+            delegate.addMember(member);
+        } finally {
+            membersById.invalidate(member.getMemberId());
+        }
+    }
+
+    @Override
+    public void updateMember(Member member) {
+        try {
+            delegate.updateMember(member);
+        } finally {
+            membersById.invalidate(member.getMemberId());
+        }
+    }
+
+    @Override
+    public boolean deleteMember(int memberId) {
+        try {
+            return delegate.deleteMember(memberId);
+        } finally {
+            membersById.invalidate(memberId);
+        }
+    }
+
+    @Override
+    public boolean deactivateMember(int memberId) {
+        try {
+            return delegate.deactivateMember(memberId);
+        } finally {
+            membersById.invalidate(memberId);
+        }
+    }
+
+    @Override
+    public Optional<Member> getMemberById(int memberId) {
+        return membersById.get(memberId, delegate::getMemberById).map(CachingMemberDAO::copyOf);
+    }
+
+    // Cached IDs are served from memory and only the misses go to the delegate, in one batch
+    @Override
+    public Map<Integer, Member> getMembersByIds(Collection<Integer> memberIds) {
+        Map<Integer, Optional<Member>> cached = membersById.getAll(IdBatchQuery.validate(memberIds, "Member"), misses -> {
+            Map<Integer, Member> found = delegate.getMembersByIds(misses);
+            Map<Integer, Optional<Member>> loaded = new HashMap<>();
+            for (Integer memberId : misses) {
+                loaded.put(memberId, Optional.ofNullable(found.get(memberId)));
+            }
+            return loaded;
+        });
+        Map<Integer, Member> members = new LinkedHashMap<>();
+        cached.forEach((memberId, member) -> member.ifPresent(value -> members.put(memberId, copyOf(value))));
+        return members;
+    }
+
+    @Override
+    public List<Member> getActiveMembers() {
+        return delegate.getActiveMembers();
+    }
+
+    @Override
+    public List<Member> getAllMembers() {
+        return delegate.getAllMembers();
+    }
+
+    @Override
+    public List<Member> getMembersPage(int afterMemberId, int pageSize) {
+        return delegate.getMembersPage(afterMemberId, pageSize);
+    }
+
+    @Override
+    public Stream<Member> streamAllMembers() {
+        return delegate.streamAllMembers();
+    }
+
+    @Override
+    public Optional<Member> getMemberByEmail(String email) {
+        return delegate.getMemberByEmail(email);
+    }
+
+    @Override
+    public Optional<Member> getMemberByUserName(String userName) {
+        return delegate.getMemberByUserName(userName);
+    }
+
+    public void logStats() {
+        logger.info("Member cache stats - byId: {}", membersById);
+    }
+
+    private static Member copyOf(Member member) {
+        Member copy = new Member(member.getMemberId(), member.getUserName(), member.getEmail(), member.getPassword(), member.isActive());
+        copy.copyTrackingFrom(member);
+        return copy;
+    }
+}
@@ -0,0 +1,30 @@
+package com.library.management.dao;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// An updatable column of an entity's table; implemented by one enum per table
+public interface EntityColumn<T> {
+
+    String columnName();
+
+    // The entity property the column is stored from, as recorded by TrackedEntity
+    String property();
+
+    // The value to write, read from the entity; bound with setObject
+    Object valueOf(T entity);
+
+    // Puts back a value previously read with valueOf
+    void set(T entity, Object value);
+
+    // The columns behind the given properties; properties that are not stored are ignored
+    static <T, C extends Enum<C> & EntityColumn<T>> EnumSet<C> forProperties(Class<C> columnType, Set<String> properties) {
+        EnumSet<C> columns = EnumSet.noneOf(columnType);
+        for (C column : columnType.getEnumConstants()) {
+            if (properties.contains(column.property())) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+}
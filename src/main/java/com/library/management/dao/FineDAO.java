@@ -0,0 +1,18 @@
+package com.library.management.dao;
+
+import com.library.management.entity.FineRun;
+
+import java.time.LocalDate;
+
+public interface FineDAO {
+    // Creates the run's checkpoint, bounded by the highest borrow ID at that moment, unless it exists; returns it
+    FineRun startRun(LocalDate runDate);
+
+    // Assesses fines for loans with borrow IDs in (afterBorrowId, throughBorrowId] and moves the checkpoint to
+    // throughBorrowId in one transaction. Returns the rows changed, or -1 (writing nothing) if the checkpoint
+    // was no longer at afterBorrowId because another runner got there first.
+    int accrueFines(LocalDate runDate, int afterBorrowId, int throughBorrowId,
+                    long dailyRateCents, long maximumCents, LocalDate returnedSince);
+
+    void completeRun(LocalDate runDate);
+}
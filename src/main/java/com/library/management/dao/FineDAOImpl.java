@@ -0,0 +1,123 @@
+package com.library.management.dao;
+
+import com.library.management.entity.FineRun;
+import com.library.management.util.ReadWriteRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDate;
+
+public class FineDAOImpl implements FineDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(FineDAOImpl.class);
+    private final ReadWriteRouter router;
+
+    // Constructor
+    public FineDAOImpl(DataSource dataSource) {
+        this(new ReadWriteRouter(dataSource));
+    }
+
+    public FineDAOImpl(ReadWriteRouter router) {
+        this.router = router;
+    }
+
+    private static final String START_RUN = "INSERT IGNORE INTO fine_job_runs (run_date, last_borrow_id, max_borrow_id, completed) " +
+            "SELECT ?, 0, COALESCE(MAX(borrow_id), 0), FALSE FROM book_borrows";
+    private static final String GET_RUN = "SELECT run_date, last_borrow_id, max_borrow_id, completed FROM fine_job_runs WHERE run_date = ?";
+
+    // One set-based statement per chunk: a primary-key range scan of book_borrows upserted into fines.
+    // Re-running a chunk recomputes the same amounts, so a crash between chunks never double-charges.
+    // A backfill for an earlier date never overwrites a newer assessment. MySQL applies the assignments
+    // left to right, so assessed_on must stay last for the guards to compare against the old value.
+    private static final String ACCRUE_FINES = "INSERT INTO fines (borrow_id, member_id, days_overdue, amount_cents, assessed_on) " +
+            "SELECT borrow_id, member_id, DATEDIFF(COALESCE(return_date, ?), due_date), " +
+            "LEAST(DATEDIFF(COALESCE(return_date, ?), due_date) * ?, ?), ? " +
+            "FROM book_borrows WHERE borrow_id > ? AND borrow_id <= ? AND due_date < ? " +
+            "AND (return_date IS NULL OR (return_date > due_date AND return_date >= ?)) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "days_overdue = IF(VALUES(assessed_on) >= assessed_on, VALUES(days_overdue), days_overdue), " +
+            "amount_cents = IF(VALUES(assessed_on) >= assessed_on, VALUES(amount_cents), amount_cents), " +
+            "assessed_on = GREATEST(VALUES(assessed_on), assessed_on)";
+    private static final String ADVANCE_CHECKPOINT =
+            "UPDATE fine_job_runs SET last_borrow_id = ? WHERE run_date = ? AND last_borrow_id = ? AND completed = FALSE";
+    private static final String COMPLETE_RUN = "UPDATE fine_job_runs SET completed = TRUE WHERE run_date = ?";
+
+    @Override
+    public FineRun startRun(LocalDate runDate) {
+        try (Connection connection = router.writer().getConnection()) {
+            try (PreparedStatement pstmt = connection.prepareStatement(START_RUN)) {
+                pstmt.setDate(1, Date.valueOf(runDate));
+                pstmt.executeUpdate();
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement(GET_RUN)) {
+                pstmt.setDate(1, Date.valueOf(runDate));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("No fine run checkpoint for " + runDate);
+                    }
+                    return new FineRun(rs.getDate(1).toLocalDate(), rs.getInt(2), rs.getInt(3), rs.getBoolean(4));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error starting fine run for {}", runDate, e);
+            throw new RuntimeException("Failed to start fine run", e);
+        }
+    }
+
+    @Override
+    public int accrueFines(LocalDate runDate, int afterBorrowId, int throughBorrowId,
+                           long dailyRateCents, long maximumCents, LocalDate returnedSince) {
+        try (Connection connection = router.writer().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int changed;
+                try (PreparedStatement pstmt = connection.prepareStatement(ACCRUE_FINES)) {
+                    Date day = Date.valueOf(runDate);
+                    pstmt.setDate(1, day);
+                    pstmt.setDate(2, day);
+                    pstmt.setLong(3, dailyRateCents);
+                    pstmt.setLong(4, maximumCents);
+                    pstmt.setDate(5, day);
+                    pstmt.setInt(6, afterBorrowId);
+                    pstmt.setInt(7, throughBorrowId);
+                    pstmt.setDate(8, day);
+                    pstmt.setDate(9, Date.valueOf(returnedSince));
+                    changed = pstmt.executeUpdate();
+                }
+                try (PreparedStatement pstmt = connection.prepareStatement(ADVANCE_CHECKPOINT)) {
+                    pstmt.setInt(1, throughBorrowId);
+                    pstmt.setDate(2, Date.valueOf(runDate));
+                    pstmt.setInt(3, afterBorrowId);
+                    if (pstmt.executeUpdate() == 0) {
+                        connection.rollback();
+                        return -1;
+                    }
+                }
+                connection.commit();
+                return changed;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Error accruing fines for borrow IDs {} to {}", afterBorrowId + 1, throughBorrowId, e);
+            throw new RuntimeException("Failed to accrue fines", e);
+        }
+    }
+
+    @Override
+    public void completeRun(LocalDate runDate) {
+        try (Connection connection = router.writer().getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(COMPLETE_RUN)) {
+            pstmt.setDate(1, Date.valueOf(runDate));
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Error completing fine run for {}", runDate, e);
+            throw new RuntimeException("Failed to complete fine run", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.library.management.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Loads rows for many IDs with {@code IN (...)} queries of at most {@link #CHUNK_SIZE} IDs each.
+ * Every chunk is padded to a power of two by repeating its last ID, so at most ten distinct SQL
+ * strings ever reach the driver and they stay in its prepared-statement cache.
+ */
+final class IdBatchQuery {
+
+    static final int CHUNK_SIZE = 512;
+
+    private IdBatchQuery() {
+    }
+
+    static List<Integer> validate(Collection<Integer> ids, String what) {
+        if (ids == null) {
+            throw new IllegalArgumentException(what + " IDs cannot be null");
+        }
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (Integer id : distinct) {
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException(what + " IDs must be positive integers");
+            }
+        }
+        return distinct;
+    }
+
+    // selectPrefix ends just before the IN list, e.g. "SELECT ... FROM books WHERE book_id"
+    static <T> Map<Integer, T> load(Connection connection, String selectPrefix, List<Integer> ids,
+                                    ResultSetStreams.RowMapper<T> mapper, ToIntFunction<T> idOf) throws SQLException {
+        Map<Integer, T> found = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            int size = Integer.highestOneBit(chunk.size());
+            size = size == chunk.size() ? size : size << 1;
+            try (PreparedStatement pstmt = connection.prepareStatement(selectPrefix + " IN (" + placeholders(size) + ")")) {
+                for (int i = 0; i < size; i++) {
+                    pstmt.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        T row = mapper.map(rs);
+                        found.put(idOf.applyAsInt(row), row);
+                    }
+                }
+            }
+        }
+        Map<Integer, T> ordered = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            T row = found.get(id);
+            if (row != null) {
+                ordered.put(id, row);
+            }
+        }
+        return ordered;
+    }
+
+    private static String placeholders(int count) {
+        return "?" + ", ?".repeat(count - 1);
+    }
+}
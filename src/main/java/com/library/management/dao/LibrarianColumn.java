@@ -0,0 +1,47 @@
+package com.library.management.dao;
+
+import com.library.management.entity.Librarian;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public enum LibrarianColumn implements EntityColumn<Librarian> {
+    USER_NAME("userName", "userName", Librarian::getUserName,
+            (librarian, value) -> librarian.setUserName((String) value)),
+    EMAIL("email", "email", Librarian::getEmail,
+            (librarian, value) -> librarian.setEmail((String) value)),
+    PASSWORD("password", "password", Librarian::getPassword,
+            (librarian, value) -> librarian.setPassword((String) value));
+
+    private final String columnName;
+    private final String property;
+    private final Function<Librarian, Object> getter;
+    private final BiConsumer<Librarian, Object> setter;
+
+    LibrarianColumn(String columnName, String property, Function<Librarian, Object> getter, BiConsumer<Librarian, Object> setter) {
+        this.columnName = columnName;
+        this.property = property;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    public String columnName() {
+        return columnName;
+    }
+
+    @Override
+    public String property() {
+        return property;
+    }
+
+    @Override
+    public Object valueOf(Librarian librarian) {
+        return getter.apply(librarian);
+    }
+
+    @Override
+    public void set(Librarian librarian, Object value) {
+        setter.accept(librarian, value);
+    }
+}
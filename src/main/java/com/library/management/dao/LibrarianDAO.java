@@ -4,6 +4,7 @@ import com.library.management.entity.Librarian;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LibrarianDAO {
 
@@ -17,6 +18,12 @@ public interface LibrarianDAO {
 
     List<Librarian> getAllLibrarians();
 
+    // Keyset pagination in ID order
+    List<Librarian> getLibrariansPage(int afterLibrarianId, int pageSize);
+
+    // Caller must close the stream
+    Stream<Librarian> streamAllLibrarians();
+
     Optional<Librarian> getLibrarianByEmail(String email);
 
     Optional<Librarian> getLibrarianByUserName(String userName);
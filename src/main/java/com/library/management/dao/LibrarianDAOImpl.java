@@ -1,29 +1,37 @@
 package com.library.management.dao;
 
 import com.library.management.entity.Librarian;
+import com.library.management.util.ReadWriteRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class LibrarianDAOImpl implements LibrarianDAO {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LibrarianDAOImpl.class);
-    private final DataSource dataSource;
+    // Listings, searches and streams may be served by a replica; writes and key lookups use the primary
+    private final ReadWriteRouter router;
 
     // Constructor
     public LibrarianDAOImpl(DataSource dataSource) {
-        this.dataSource = dataSource;
+        this(new ReadWriteRouter(dataSource));
+    }
+
+    public LibrarianDAOImpl(ReadWriteRouter router) {
+        this.router = router;
     }
 
     @Override
     public Optional<Librarian> getLibrarianByEmail(String email) {
-        String sql = "SELECT * FROM librarians WHERE email = ?";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + LIBRARIAN_COLUMNS + " FROM librarians WHERE email = ?";
+        try (Connection connection = router.primary().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, email);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -43,7 +51,7 @@ public class LibrarianDAOImpl implements LibrarianDAO {
             throw new IllegalArgumentException("Librarian cannot be null");
         }
         String sql = "INSERT INTO librarians (userName, password, email) VALUES (?, ?, ?)";
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.writer().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             setLibrarianParameters(statement, librarian);
             statement.executeUpdate();
@@ -52,6 +60,7 @@ public class LibrarianDAOImpl implements LibrarianDAO {
                     librarian.setLibrarianId(generatedKeys.getInt(1));
                 }
             }
+            librarian.markClean();
         } catch (SQLException e) {
             LOGGER.error("Error adding librarian: {}", librarian, e);
             throw new RuntimeException("Failed to add librarian", e);
@@ -63,15 +72,17 @@ public class LibrarianDAOImpl implements LibrarianDAO {
         if (librarian == null || librarian.getLibrarianId() <= 0) {
             throw new IllegalArgumentException("Librarian cannot be null and must have a valid ID");
         }
-        String sql = "UPDATE librarians SET userName = ?, password = ?, email = ? WHERE librarianId = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-            setLibrarianParameters(statement, librarian);
-            statement.setInt(4, librarian.getLibrarianId());
-            int rowsAffected = statement.executeUpdate();
+        EnumSet<LibrarianColumn> columns = PartialUpdate.columnsToWrite(librarian, LibrarianColumn.class);
+        if (columns.isEmpty()) {
+            LOGGER.debug("Librarian {} has no changes to write", librarian.getLibrarianId());
+            return;
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            int rowsAffected = PartialUpdate.execute(connection, "librarians", "librarianId", columns, librarian, librarian.getLibrarianId());
             if (rowsAffected == 0) {
                 throw new RuntimeException("No librarian found with ID: " + librarian.getLibrarianId());
             }
+            librarian.markClean();
         } catch (SQLException e) {
             LOGGER.error("Error updating librarian with ID: {}", librarian.getLibrarianId(), e);
             throw new RuntimeException("Failed to update librarian", e);
@@ -80,8 +91,8 @@ public class LibrarianDAOImpl implements LibrarianDAO {
 
     @Override
     public Optional<Librarian> getLibrarianById(int librarianId) {
-        String sql = "SELECT * FROM librarians WHERE librarianId = ?";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + LIBRARIAN_COLUMNS + " FROM librarians WHERE librarianId = ?";
+        try (Connection connection = router.primary().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, librarianId);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -102,7 +113,7 @@ public class LibrarianDAOImpl implements LibrarianDAO {
             throw new IllegalArgumentException("Librarian ID must be positive");
         }
         String sql = "DELETE FROM librarians WHERE librarianId = ?";
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.writer().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, librarianId);
             int rowsAffected = statement.executeUpdate();
@@ -116,8 +127,8 @@ public class LibrarianDAOImpl implements LibrarianDAO {
     @Override
     public List<Librarian> getAllLibrarians() {
         List<Librarian> librarians = new ArrayList<>();
-        String sql = "SELECT * FROM librarians";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + LIBRARIAN_COLUMNS + " FROM librarians";
+        try (Connection connection = router.reader().getConnection();
              Statement statement = connection.createStatement();
              ResultSet resultSet = statement.executeQuery(sql)) {
             while (resultSet.next()) {
@@ -130,10 +141,40 @@ public class LibrarianDAOImpl implements LibrarianDAO {
         return librarians;
     }
 
+    @Override
+    public List<Librarian> getLibrariansPage(int afterLibrarianId, int pageSize) {
+        if (afterLibrarianId < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page cursor must not be negative and page size must be positive");
+        }
+        List<Librarian> librarians = new ArrayList<>(pageSize);
+        String sql = "SELECT " + LIBRARIAN_COLUMNS + " FROM librarians WHERE librarianId > ? ORDER BY librarianId LIMIT ?";
+        try (Connection connection = router.reader().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, afterLibrarianId);
+            statement.setInt(2, pageSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    librarians.add(extractLibrarianFromResultSet(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error retrieving librarians after ID: {}", afterLibrarianId, e);
+            throw new RuntimeException("Failed to retrieve page of librarians", e);
+        }
+        return librarians;
+    }
+
+    // Read from the primary: the uniqueness filters are seeded from this and must not miss recent librarians
+    @Override
+    public Stream<Librarian> streamAllLibrarians() {
+        return ResultSetStreams.stream(router.primary(), "SELECT " + LIBRARIAN_COLUMNS + " FROM librarians ORDER BY librarianId",
+                LibrarianDAOImpl::extractLibrarianFromResultSet);
+    }
+
     @Override
     public Optional<Librarian> getLibrarianByUserName(String userName) {
-        String sql = "SELECT * FROM librarians WHERE userName = ?";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + LIBRARIAN_COLUMNS + " FROM librarians WHERE userName = ?";
+        try (Connection connection = router.primary().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, userName);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -153,16 +194,16 @@ public class LibrarianDAOImpl implements LibrarianDAO {
         statement.setString(3, librarian.getEmail());
     }
 
-    private Librarian extractLibrarianFromResultSet(ResultSet resultSet) throws SQLException {
-        int librarianId = resultSet.getInt("librarianId"); // Make sure this matches your column name
-        String userName = resultSet.getString("userName"); // Make sure this matches your column name
-        String email = resultSet.getString("email"); // Make sure this matches your column name
-        String password = resultSet.getString("password"); // Make sure this matches your column name
+    // Read by position, in LIBRARIAN_COLUMNS order
+    private static final String LIBRARIAN_COLUMNS = "librarianId, userName, email, password";
+
+    private static Librarian extractLibrarianFromResultSet(ResultSet resultSet) throws SQLException {
         Librarian librarian = new Librarian();
-        librarian.setLibrarianId(librarianId);
-        librarian.setUserName(userName);
-        librarian.setEmail(email);
-        librarian.setPassword(password);
+        librarian.setLibrarianId(resultSet.getInt(1));
+        librarian.setUserName(resultSet.getString(2));
+        librarian.setEmail(resultSet.getString(3));
+        librarian.setPassword(resultSet.getString(4));
+        librarian.markClean();
         return librarian;
     }
 }
@@ -0,0 +1,49 @@
+package com.library.management.dao;
+
+import com.library.management.entity.Member;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public enum MemberColumn implements EntityColumn<Member> {
+    USER_NAME("userName", "userName", Member::getUserName,
+            (member, value) -> member.setUserName((String) value)),
+    EMAIL("email", "email", Member::getEmail,
+            (member, value) -> member.setEmail((String) value)),
+    PASSWORD("password", "password", Member::getPassword,
+            (member, value) -> member.setPassword((String) value)),
+    ACTIVE("isActive", "active", Member::isActive,
+            (member, value) -> member.setActive((Boolean) value));
+
+    private final String columnName;
+    private final String property;
+    private final Function<Member, Object> getter;
+    private final BiConsumer<Member, Object> setter;
+
+    MemberColumn(String columnName, String property, Function<Member, Object> getter, BiConsumer<Member, Object> setter) {
+        this.columnName = columnName;
+        this.property = property;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    public String columnName() {
+        return columnName;
+    }
+
+    @Override
+    public String property() {
+        return property;
+    }
+
+    @Override
+    public Object valueOf(Member member) {
+        return getter.apply(member);
+    }
+
+    @Override
+    public void set(Member member, Object value) {
+        setter.accept(member, value);
+    }
+}
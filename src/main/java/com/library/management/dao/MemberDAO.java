@@ -2,8 +2,11 @@ package com.library.management.dao;
 
 import com.library.management.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberDAO {
 
@@ -11,8 +14,11 @@ public interface MemberDAO {
     void updateMember(Member member);
     boolean deleteMember(int memberId); // Changed to boolean for consistency with BookDAO
     Optional<Member> getMemberById(int memberId);
+    Map<Integer, Member> getMembersByIds(Collection<Integer> memberIds); // Found members in request order; missing IDs are left out
     List<Member> getActiveMembers(); // Ensure this is consistent with your requirements
     List<Member> getAllMembers();
+    List<Member> getMembersPage(int afterMemberId, int pageSize); // Keyset pagination in ID order
+    Stream<Member> streamAllMembers(); // Caller must close the stream
     Optional<Member> getMemberByEmail(String email);
     boolean deactivateMember(int memberId);
     Optional<Member> getMemberByUserName(String userName);
@@ -1,29 +1,39 @@
 package com.library.management.dao;
 
 import com.library.management.entity.Member;
+import com.library.management.util.ReadWriteRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class MemberDAOImpl implements MemberDAO {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MemberDAOImpl.class);
-    private final DataSource dataSource;
+    // Listings, searches and streams may be served by a replica; writes and key lookups use the primary
+    private final ReadWriteRouter router;
 
     // Constructor
     public MemberDAOImpl(DataSource dataSource) {
-        this.dataSource = dataSource;
+        this(new ReadWriteRouter(dataSource));
+    }
+
+    public MemberDAOImpl(ReadWriteRouter router) {
+        this.router = router;
     }
 
     @Override
     public Optional<Member> getMemberByEmail(String email) {
-        String sql = "SELECT * FROM members WHERE email = ?";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + MEMBER_COLUMNS + " FROM members WHERE email = ?";
+        try (Connection connection = router.primary().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, email);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -41,7 +51,7 @@ public class MemberDAOImpl implements MemberDAO {
     @Override
     public void addMember(Member member) {
         String sql = "INSERT INTO members (userName, email, password, isActive) VALUES (?, ?, ?, ?)";
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.writer().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             statement.setString(1, member.getUserName());
             statement.setString(2, member.getEmail());
@@ -54,6 +64,7 @@ public class MemberDAOImpl implements MemberDAO {
                     member.setMemberId(generatedKeys.getInt(1));
                 }
             }
+            member.markClean();
         } catch (SQLException e) {
             LOGGER.error("Error adding member: {}", member, e);
             throw new RuntimeException("Failed to add member", e);
@@ -62,18 +73,17 @@ public class MemberDAOImpl implements MemberDAO {
 
     @Override
     public void updateMember(Member member) {
-        String sql = "UPDATE members SET userName = ?, email = ?, password = ?, isActive = ? WHERE memberId = ?";
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-            statement.setString(1, member.getUserName());
-            statement.setString(2, member.getEmail());
-            statement.setString(3, member.getPassword());
-            statement.setBoolean(4, member.isActive());
-            statement.setInt(5, member.getMemberId());
-            int rowsAffected = statement.executeUpdate();
+        EnumSet<MemberColumn> columns = PartialUpdate.columnsToWrite(member, MemberColumn.class);
+        if (columns.isEmpty()) {
+            LOGGER.debug("Member {} has no changes to write", member.getMemberId());
+            return;
+        }
+        try (Connection connection = router.writer().getConnection()) {
+            int rowsAffected = PartialUpdate.execute(connection, "members", "memberId", columns, member, member.getMemberId());
             if (rowsAffected == 0) {
                 throw new RuntimeException("No member found with ID: " + member.getMemberId());
             }
+            member.markClean();
         } catch (SQLException e) {
             LOGGER.error("Error updating member with ID: {}", member.getMemberId(), e);
             throw new RuntimeException("Failed to update member", e);
@@ -83,7 +93,7 @@ public class MemberDAOImpl implements MemberDAO {
     @Override
     public boolean deleteMember(int memberId) {
         String sql = "DELETE FROM members WHERE memberId = ?";
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.writer().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, memberId);
             int rowsAffected = statement.executeUpdate();
@@ -96,8 +106,8 @@ public class MemberDAOImpl implements MemberDAO {
 
     @Override
     public Optional<Member> getMemberById(int memberId) {
-        String sql = "SELECT * FROM members WHERE memberId = ?";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + MEMBER_COLUMNS + " FROM members WHERE memberId = ?";
+        try (Connection connection = router.primary().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, memberId);
             try (ResultSet resultSet = statement.executeQuery()) {
@@ -112,11 +122,26 @@ public class MemberDAOImpl implements MemberDAO {
         return Optional.empty();
     }
 
+    @Override
+    public Map<Integer, Member> getMembersByIds(Collection<Integer> memberIds) {
+        List<Integer> ids = IdBatchQuery.validate(memberIds, "Member");
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        try (Connection connection = router.primary().getConnection()) {
+            return IdBatchQuery.load(connection, "SELECT " + MEMBER_COLUMNS + " FROM members WHERE memberId", ids,
+                    MemberDAOImpl::extractMemberFromResultSet, Member::getMemberId);
+        } catch (SQLException e) {
+            LOGGER.error("Error retrieving {} members by ID", ids.size(), e);
+            throw new RuntimeException("Failed to retrieve members", e);
+        }
+    }
+
     @Override
     public List<Member> getAllMembers() {
         List<Member> members = new ArrayList<>();
-        String sql = "SELECT * FROM members";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + MEMBER_COLUMNS + " FROM members";
+        try (Connection connection = router.reader().getConnection();
              Statement statement = connection.createStatement();
              ResultSet resultSet = statement.executeQuery(sql)) {
             while (resultSet.next()) {
@@ -129,11 +154,41 @@ public class MemberDAOImpl implements MemberDAO {
         return members;
     }
 
+    @Override
+    public List<Member> getMembersPage(int afterMemberId, int pageSize) {
+        if (afterMemberId < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page cursor must not be negative and page size must be positive");
+        }
+        List<Member> members = new ArrayList<>(pageSize);
+        String sql = "SELECT " + MEMBER_COLUMNS + " FROM members WHERE memberId > ? ORDER BY memberId LIMIT ?";
+        try (Connection connection = router.reader().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, afterMemberId);
+            statement.setInt(2, pageSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    members.add(extractMemberFromResultSet(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error retrieving members after ID: {}", afterMemberId, e);
+            throw new RuntimeException("Failed to retrieve page of members", e);
+        }
+        return members;
+    }
+
+    // Read from the primary: the uniqueness filters are seeded from this and must not miss recent members
+    @Override
+    public Stream<Member> streamAllMembers() {
+        return ResultSetStreams.stream(router.primary(), "SELECT " + MEMBER_COLUMNS + " FROM members ORDER BY memberId",
+                MemberDAOImpl::extractMemberFromResultSet);
+    }
+
     @Override
     public List<Member> getActiveMembers() {
         List<Member> members = new ArrayList<>();
-        String sql = "SELECT * FROM members WHERE isActive = TRUE";
-        try (Connection connection = dataSource.getConnection();
+        String sql = "SELECT " + MEMBER_COLUMNS + " FROM members WHERE isActive = TRUE";
+        try (Connection connection = router.reader().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql);
              ResultSet resultSet = statement.executeQuery()) {
             while (resultSet.next()) {
@@ -149,7 +204,7 @@ public class MemberDAOImpl implements MemberDAO {
     @Override
     public boolean deactivateMember(int memberId) {
         String sql = "UPDATE members SET isActive = FALSE WHERE memberId = ?";
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = router.writer().getConnection();
              PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, memberId);
             int rowsAffected = statement.executeUpdate();
@@ -160,33 +215,33 @@ public class MemberDAOImpl implements MemberDAO {
         }
     }
 
-    private Member extractMemberFromResultSet(ResultSet resultSet) throws SQLException {
-        return new Member(
-                resultSet.getInt("memberId"),
-                resultSet.getString("userName"),
-                resultSet.getString("email"),
-                resultSet.getString("password"),
-                resultSet.getBoolean("isActive")
+    // Read by position, in MEMBER_COLUMNS order
+    private static final String MEMBER_COLUMNS = "memberId, userName, email, password, isActive";
+
+    private static Member extractMemberFromResultSet(ResultSet resultSet) throws SQLException {
+        Member member = new Member(
+                resultSet.getInt(1),
+                resultSet.getString(2),
+                resultSet.getString(3),
+                resultSet.getString(4),
+                resultSet.getBoolean(5)
         );
+        member.markClean();
+        return member;
     }
 
         @Override
         public Optional<Member> getMemberByUserName(String userName) {
-            String sql = "SELECT * FROM members WHERE username = ?";
-            try (Connection connection = dataSource.getConnection();
+            String sql = "SELECT " + MEMBER_COLUMNS + " FROM members WHERE username = ?";
+            try (Connection connection = router.primary().getConnection();
                  PreparedStatement stmt = connection.prepareStatement(sql)) {
                 stmt.setString(1, userName);
-                ResultSet rs = stmt.executeQuery();
-                if (rs.next()) {
-                    Member member = new Member();
-                    member.setMemberId(rs.getInt("member_id"));
-                    member.setUserName(rs.getString("username"));
-                    member.setEmail(rs.getString("email"));
-                    member.setPassword(rs.getString("password"));
-                    // Set other fields as needed
-                    return Optional.of(member);
-                } else {
-                    return Optional.empty();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return Optional.of(extractMemberFromResultSet(rs));
+                    } else {
+                        return Optional.empty();
+                    }
                 }
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to retrieve member by username", e);
@@ -0,0 +1,59 @@
+package com.library.management.dao;
+
+import com.library.management.entity.TrackedEntity;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Builds and runs an UPDATE that writes only the given columns of one row
+final class PartialUpdate {
+
+    // One statement per table and column set; bounded by 2^columns per table
+    private static final Map<StatementKey, String> STATEMENTS = new ConcurrentHashMap<>();
+
+    private record StatementKey(String table, Set<?> columns) {
+    }
+
+    private PartialUpdate() {
+    }
+
+    // Every column for an untracked entity, otherwise the columns behind its changed properties
+    static <T extends TrackedEntity, C extends Enum<C> & EntityColumn<T>> EnumSet<C> columnsToWrite(T entity, Class<C> columnType) {
+        return entity.isTracked()
+                ? EntityColumn.forProperties(columnType, entity.getChangedProperties())
+                : EnumSet.allOf(columnType);
+    }
+
+    static <T, C extends Enum<C> & EntityColumn<T>> String sql(String table, String idColumn, Set<C> columns) {
+        return STATEMENTS.computeIfAbsent(new StatementKey(table, columns), key -> {
+            StringJoiner assignments = new StringJoiner(", ", "UPDATE " + table + " SET ", " WHERE " + idColumn + " = ?");
+            for (C column : columns) {
+                assignments.add(column.columnName() + " = ?");
+            }
+            return assignments.toString();
+        });
+    }
+
+    // Returns the number of rows updated; columns are written in declaration order
+    static <T, C extends Enum<C> & EntityColumn<T>> int execute(Connection connection, String table, String idColumn,
+                                                               Set<C> columns, T entity, int id) throws SQLException {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column must be updated");
+        }
+        Set<C> ordered = EnumSet.copyOf(columns);
+        try (PreparedStatement statement = connection.prepareStatement(sql(table, idColumn, ordered))) {
+            int index = 1;
+            for (C column : ordered) {
+                statement.setObject(index++, column.valueOf(entity));
+            }
+            statement.setInt(index, id);
+            return statement.executeUpdate();
+        }
+    }
+}
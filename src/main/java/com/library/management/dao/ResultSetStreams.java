@@ -0,0 +1,87 @@
+package com.library.management.dao;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Turns a query into a lazily fetched Stream. The statement is forward-only and read-only with
+ * a fetch size of Integer.MIN_VALUE, which makes MySQL Connector/J stream rows one at a time
+ * instead of buffering the whole result, so memory stays flat regardless of table size.
+ * The connection stays checked out until the stream is closed.
+ */
+final class ResultSetStreams {
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private ResultSetStreams() {
+    }
+
+    static <T> Stream<T> stream(DataSource dataSource, String sql, RowMapper<T> mapper) {
+        return stream(dataSource, sql, statement -> { }, mapper);
+    }
+
+    // The binder sets the statement's ? parameters before the query runs
+    static <T> Stream<T> stream(DataSource dataSource, String sql, ParameterBinder binder, RowMapper<T> mapper) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            binder.bind(statement);
+            resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(statement, connection);
+            throw new RuntimeException("Failed to open result stream", e);
+        }
+
+        ResultSet rows = resultSet;
+        PreparedStatement openStatement = statement;
+        Connection openConnection = connection;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rows.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rows));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException("Failed to read result stream", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeQuietly(rows, openStatement, openConnection));
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (Exception ignored) {
+                    // Nothing useful to do if the driver fails to release a resource
+                }
+            }
+        }
+    }
+}
@@ -40,7 +40,7 @@ public class Admin {
     // Setter for Password
     public void setPassword(String password) {
         if (password != null && !password.trim().isEmpty()) {
-            this.password = password; // Set password directly without hashing
+            this.password = password; // Hashed by AuthenticationService on login
         }
     }
 
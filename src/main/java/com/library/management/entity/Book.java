@@ -3,7 +3,7 @@ package com.library.management.entity;
 import java.time.LocalDate;
 import java.util.Objects;
 
-public class Book {
+public class Book extends TrackedEntity {
     private int bookId;
     private String title;
     private String author;
@@ -40,24 +40,57 @@ public class Book {
         this.borrowCount = 0; // Default value; can be set explicitly if needed
     }
 
+    // Copy constructor: every field plus the pending changes, so caches can hand out independent copies
+    public Book(Book other) {
+        this(other.bookId, other.title, other.author, other.isbn, other.quantity, other.available);
+        this.borrowCount = other.borrowCount;
+        this.borrowDate = other.borrowDate;
+        copyTrackingFrom(other);
+    }
+
     // Getters and setters
     public int getBookId() { return bookId; }
     public void setBookId(int bookId) { this.bookId = bookId; }
 
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) {
+        if (!Objects.equals(this.title, title)) {
+            this.title = title;
+            propertyChanged("title");
+        }
+    }
 
     public String getAuthor() { return author; }
-    public void setAuthor(String author) { this.author = author; }
+    public void setAuthor(String author) {
+        if (!Objects.equals(this.author, author)) {
+            this.author = author;
+            propertyChanged("author");
+        }
+    }
 
     public String getIsbn() { return isbn; }
-    public void setIsbn(String isbn) { this.isbn = isbn; }
+    public void setIsbn(String isbn) {
+        if (!Objects.equals(this.isbn, isbn)) {
+            this.isbn = isbn;
+            propertyChanged("isbn");
+        }
+    }
 
     public int getQuantity() { return quantity; }
-    public void setQuantity(int quantity) { this.quantity = quantity; }
+    public void setQuantity(int quantity) {
+        if (this.quantity != quantity) {
+            this.quantity = quantity;
+            propertyChanged("quantity");
+        }
+    }
 
     public boolean isAvailable() { return available; }
-    public void setAvailable(boolean available) { this.available = available; }
+    public void setAvailable(boolean available) {
+        if (this.available != available) {
+            this.available = available;
+            propertyChanged("available");
+        }
+    }
 
     public int getBorrowCount() { return borrowCount; }
     public void setBorrowCount(int borrowCount) { this.borrowCount = borrowCount; }
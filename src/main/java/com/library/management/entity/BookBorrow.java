@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 public class BookBorrow {
+    private int borrowId;
     private final Member member;
     private final Book book;
     private final LocalDate borrowDate;
@@ -19,6 +20,8 @@ public class BookBorrow {
     }
 
     // Getters
+    public int getBorrowId() { return borrowId; }
+    public void setBorrowId(int borrowId) { this.borrowId = borrowId; }
     public Member getMember() { return member; }
     public Book getBook() { return book; }
     public LocalDate getBorrowDate() { return borrowDate; }
@@ -28,14 +31,20 @@ public class BookBorrow {
 
     // Check if the book is overdue
     public boolean isOverdue() {
-        return returnDate == null && LocalDate.now().isAfter(dueDate);
+        return isOverdue(LocalDate.now());
+    }
+
+    // For checking many loans against one date without reading the clock for each
+    public boolean isOverdue(LocalDate today) {
+        return returnDate == null && today.isAfter(dueDate);
     }
 
     // Override toString for better readability
     @Override
     public String toString() {
         return "BookBorrow{" +
-                "member=" + member +
+                "borrowId=" + borrowId +
+                ", member=" + member +
                 ", book=" + book +
                 ", borrowDate=" + borrowDate +
                 ", dueDate=" + dueDate +
@@ -48,7 +57,8 @@ public class BookBorrow {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BookBorrow that = (BookBorrow) o;
-        return Objects.equals(member, that.member) &&
+        return borrowId == that.borrowId &&
+                Objects.equals(member, that.member) &&
                 Objects.equals(book, that.book) &&
                 Objects.equals(borrowDate, that.borrowDate) &&
                 Objects.equals(dueDate, that.dueDate) &&
@@ -57,6 +67,6 @@ public class BookBorrow {
 
     @Override
     public int hashCode() {
-        return Objects.hash(member, book, borrowDate, dueDate, returnDate);
+        return Objects.hash(borrowId, member, book, borrowDate, dueDate, returnDate);
     }
 }
@@ -0,0 +1,7 @@
+package com.library.management.entity;
+
+import java.time.LocalDate;
+
+// One loan as replayed into the popularity windows: which book and the day it was borrowed
+public record BorrowEvent(int bookId, LocalDate borrowDate) {
+}
@@ -0,0 +1,7 @@
+package com.library.management.entity;
+
+import java.time.LocalDate;
+
+// Checkpoint of one nightly fine run: loans up to lastBorrowId are done, the run stops at maxBorrowId
+public record FineRun(LocalDate runDate, int lastBorrowId, int maxBorrowId, boolean completed) {
+}
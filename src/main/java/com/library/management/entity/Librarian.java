@@ -2,7 +2,7 @@ package com.library.management.entity;
 
 import java.util.Objects;
 
-public class Librarian {
+public class Librarian extends TrackedEntity {
 
     private int librarianId;
     private String userName;
@@ -14,7 +14,7 @@ public class Librarian {
 
     public Librarian(String userName, String password, String email) {
         setUserName(userName);
-        setPassword(password); // Set password directly without hashing (update this)
+        setPassword(password); // Hashed by LibrarianService before it is stored
         setEmail(email);
     }
 
@@ -32,7 +32,10 @@ public class Librarian {
 
     public void setUserName(String userName) {
         if (userName != null && !userName.trim().isEmpty()) {
-            this.userName = userName;
+            if (!userName.equals(this.userName)) {
+                this.userName = userName;
+                propertyChanged("userName");
+            }
         } else {
             throw new IllegalArgumentException("Username cannot be null or empty");
         }
@@ -44,7 +47,10 @@ public class Librarian {
 
     public void setPassword(String password) {
         if (password != null && !password.trim().isEmpty()) {
-            this.password = password; // Set password directly without hashing (update this)
+            if (!password.equals(this.password)) {
+                this.password = password; // Plain text from the UI is hashed by LibrarianService before it is stored
+                propertyChanged("password");
+            }
         } else {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
@@ -56,7 +62,10 @@ public class Librarian {
 
     public void setEmail(String email) {
         if (email != null && email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$")) {
-            this.email = email;
+            if (!email.equals(this.email)) {
+                this.email = email;
+                propertyChanged("email");
+            }
         } else {
             throw new IllegalArgumentException("Email is invalid");
         }
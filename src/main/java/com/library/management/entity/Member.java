@@ -5,7 +5,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-public class Member {
+public class Member extends TrackedEntity {
     private int memberId;
     private String userName;
     private String password;
@@ -51,8 +51,9 @@ public class Member {
     }
 
     public void setUserName(String userName) {
-        if (userName != null && !userName.trim().isEmpty()) {
+        if (userName != null && !userName.trim().isEmpty() && !userName.equals(this.userName)) {
             this.userName = userName;
+            propertyChanged("userName");
         }
     }
 
@@ -61,8 +62,9 @@ public class Member {
     }
 
     public void setPassword(String password) {
-        if (password != null && !password.trim().isEmpty()) {
-            this.password = password; // Set password directly without hashing
+        if (password != null && !password.trim().isEmpty() && !password.equals(this.password)) {
+            this.password = password; // Plain text from the UI is hashed by MemberService before it is stored
+            propertyChanged("password");
         }
     }
 
@@ -71,8 +73,9 @@ public class Member {
     }
 
     public void setEmail(String email) {
-        if (email != null && email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$")) {
+        if (email != null && email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$") && !email.equals(this.email)) {
             this.email = email;
+            propertyChanged("email");
         }
     }
 
@@ -81,7 +84,10 @@ public class Member {
     }
 
     public void setActive(boolean isActive) {
-        this.isActive = isActive;
+        if (this.isActive != isActive) {
+            this.isActive = isActive;
+            propertyChanged("active");
+        }
     }
 
     public List<BookBorrow> getBookBorrows() {
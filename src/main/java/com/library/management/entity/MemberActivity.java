@@ -0,0 +1,7 @@
+package com.library.management.entity;
+
+import java.time.LocalDateTime;
+
+// Borrows and returns by one member not yet written to member_activity, and when the last of them happened
+public record MemberActivity(int memberId, long borrows, long returns, LocalDateTime lastActive) {
+}
@@ -0,0 +1,11 @@
+package com.library.management.entity;
+
+import java.time.LocalDate;
+
+// Compact view of a loan that has not been returned, as held by the overdue index
+public record OpenLoan(int borrowId, int memberId, int bookId, LocalDate borrowDate, LocalDate dueDate) {
+
+    public boolean isOverdue(LocalDate today) {
+        return today.isAfter(dueDate);
+    }
+}
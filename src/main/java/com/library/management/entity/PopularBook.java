@@ -0,0 +1,5 @@
+package com.library.management.entity;
+
+// A book on a trending list with its estimated number of borrows in the window
+public record PopularBook(Book book, long borrows) {
+}
@@ -0,0 +1,42 @@
+package com.library.management.entity;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Remembers which properties were set to a new value since the entity was read or last saved, so
+ * a DAO can update only those columns. Tracking starts when a DAO calls {@link #markClean()}; an
+ * object built by hand is untracked and is written in full.
+ */
+public abstract class TrackedEntity {
+
+    private Set<String> changedProperties; // null while untracked
+
+    // Setters call this after assigning a value that differs from the current one
+    protected final void propertyChanged(String property) {
+        if (changedProperties != null) {
+            changedProperties.add(property);
+        }
+    }
+
+    public boolean isTracked() {
+        return changedProperties != null;
+    }
+
+    // Empty for a clean entity; an untracked entity has no baseline to compare against
+    public Set<String> getChangedProperties() {
+        if (changedProperties == null) {
+            throw new IllegalStateException("Entity is not tracked");
+        }
+        return Set.copyOf(changedProperties);
+    }
+
+    public void markClean() {
+        changedProperties = new HashSet<>();
+    }
+
+    // For copies: the copy is tracked exactly when the original is, with the same pending changes
+    public void copyTrackingFrom(TrackedEntity other) {
+        changedProperties = other.changedProperties == null ? null : new HashSet<>(other.changedProperties);
+    }
+}
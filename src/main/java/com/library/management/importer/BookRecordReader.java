@@ -0,0 +1,16 @@
+package com.library.management.importer;
+
+import com.library.management.entity.Book;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Reads one catalogue record at a time from a bulk feed so the whole file never sits in memory
+public interface BookRecordReader extends Closeable {
+
+    // Next record, or null at end of input. Fields may be missing; validation happens downstream.
+    Book read() throws IOException;
+
+    // Position in the source (line or record number) for error messages
+    long position();
+}
@@ -0,0 +1,277 @@
+package com.library.management.importer;
+
+import com.library.management.entity.Book;
+import com.library.management.service.BookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Streams a bulk feed into the catalogue through a bounded producer/consumer pipeline.
+ * <p>
+ * The calling thread parses, validates and de-duplicates records and hands full batches to a
+ * small bounded queue; writer threads take batches off the queue and insert them with
+ * {@link BookService#importBooks}. When the writers fall behind, the queue fills and the reader
+ * blocks, so at most {@code (queueCapacity + writers + 1) * batchSize} records are in memory.
+ * Duplicates are detected by ISBN against both the existing catalogue and earlier records in the feed.
+ * Both are kept as primitive longs: 8 bytes per catalogue book and 16 to 32 bytes per distinct
+ * feed ISBN, so de-duplication still grows with the feed (16 to 32 MB per million records).
+ */
+public class BulkBookLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkBookLoader.class);
+    private static final List<Book> END_OF_INPUT = List.of();
+
+    private final BookService bookService;
+    private final int batchSize;
+    private final int writers;
+    private final int queueCapacity;
+
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+
+    public BulkBookLoader(BookService bookService) {
+        this(bookService, BookService.DEFAULT_IMPORT_CHUNK_SIZE, 2, 4);
+    }
+
+    public BulkBookLoader(BookService bookService, int batchSize, int writers, int queueCapacity) {
+        if (batchSize <= 0 || writers <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size, writers and queue capacity must be positive");
+        }
+        this.bookService = bookService;
+        this.batchSize = batchSize;
+        this.writers = writers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public ImportSummary load(BookRecordReader reader) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        IsbnSet existing = IsbnSet.of(bookService);
+        LongHashSet seen = new LongHashSet();
+        BlockingQueue<List<Book>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        List<Thread> writerThreads = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            Thread writer = new Thread(() -> writeBatches(queue, failure), "book-import-writer-" + i);
+            writer.start();
+            writerThreads.add(writer);
+        }
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "book-import-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> logProgress(start), 5, 5, TimeUnit.SECONDS);
+
+        try {
+            List<Book> batch = new ArrayList<>(batchSize);
+            Book book;
+            while (failure.get() == null && (book = reader.read()) != null) {
+                read.incrementAndGet();
+                String problem = validate(book);
+                if (problem != null) {
+                    invalid.incrementAndGet();
+                    logger.warn("Skipping record {}: {}", reader.position(), problem);
+                    continue;
+                }
+                long isbn = isbnKey(book.getIsbn());
+                if (existing.contains(isbn) || !seen.add(isbn)) {
+                    duplicates.incrementAndGet();
+                    continue;
+                }
+                batch.add(book);
+                if (batch.size() == batchSize) {
+                    put(queue, batch, failure);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                put(queue, batch, failure);
+            }
+        } finally {
+            for (int i = 0; i < writers; i++) {
+                put(queue, END_OF_INPUT, null);
+            }
+            for (Thread writer : writerThreads) {
+                writer.join();
+            }
+            progress.shutdownNow();
+        }
+
+        if (failure.get() != null) {
+            throw new IOException("Import aborted after " + inserted.get() + " inserted books", failure.get());
+        }
+        ImportSummary summary = new ImportSummary(read.get(), inserted.get(), invalid.get(), duplicates.get(),
+                (System.nanoTime() - start) / 1_000_000);
+        logger.info("Import finished: {}", summary);
+        return summary;
+    }
+
+    private void writeBatches(BlockingQueue<List<Book>> queue, AtomicReference<Exception> failure) {
+        try {
+            List<Book> batch;
+            while ((batch = queue.take()) != END_OF_INPUT) {
+                if (failure.get() != null) {
+                    continue; // drain so the reader is never left blocked on a full queue
+                }
+                try {
+                    bookService.importBooks(batch, batchSize);
+                    inserted.addAndGet(batch.size());
+                } catch (Exception e) {
+                    logger.error("Writer failed, aborting import", e);
+                    failure.compareAndSet(null, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Blocks while the queue is full, which is what throttles the reader to the writers' pace
+    private static void put(BlockingQueue<List<Book>> queue, List<Book> batch, AtomicReference<Exception> failure) throws InterruptedException {
+        while (!queue.offer(batch, 1, TimeUnit.SECONDS)) {
+            if (failure != null && failure.get() != null) {
+                return;
+            }
+        }
+    }
+
+    private void logProgress(long start) {
+        long seconds = Math.max(1, (System.nanoTime() - start) / 1_000_000_000);
+        logger.info("Import progress: read={}, inserted={}, invalid={}, duplicates={}, {} rows/s",
+                read.get(), inserted.get(), invalid.get(), duplicates.get(), inserted.get() / seconds);
+    }
+
+    static String validate(Book book) {
+        if (book.getTitle() == null || book.getTitle().isBlank()) {
+            return "missing title";
+        }
+        if (book.getAuthor() == null || book.getAuthor().isBlank()) {
+            return "missing author";
+        }
+        if (book.getIsbn() == null || isbnKey(book.getIsbn()) < 0) {
+            return "invalid ISBN: " + book.getIsbn();
+        }
+        if (book.getQuantity() < 0) {
+            return "invalid quantity";
+        }
+        return null;
+    }
+
+    // The ISBN as a 13-digit number, so an ISBN-10 and its ISBN-13 form are the same key; -1 if malformed
+    static long isbnKey(String isbn) {
+        String digits = isbn.replace("-", "").replace(" ", "");
+        if (digits.length() == 10) {
+            char check = Character.toUpperCase(digits.charAt(9));
+            if (check != 'X' && (check < '0' || check > '9')) {
+                return -1;
+            }
+            // ISBN-10 to ISBN-13: prefix 978 and recompute the check digit over the first twelve digits
+            String body = "978" + digits.substring(0, 9);
+            if (!body.chars().allMatch(Character::isDigit)) {
+                return -1;
+            }
+            int sum = 0;
+            for (int i = 0; i < body.length(); i++) {
+                sum += (body.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+            }
+            digits = body + (10 - sum % 10) % 10;
+        }
+        if (digits.length() != 13 || !digits.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        return Long.parseLong(digits);
+    }
+
+    public record ImportSummary(long read, long inserted, long invalid, long duplicates, long elapsedMillis) {
+    }
+
+    // ISBNs seen earlier in the feed: open addressing with linear probing over a long[], no boxing.
+    // Keys are never negative, so -1 marks an empty slot.
+    private static final class LongHashSet {
+        private static final long EMPTY = -1;
+
+        private long[] slots = newSlots(1 << 16);
+        private int size;
+
+        // False if the key was already present
+        boolean add(long key) {
+            if (size * 2 >= slots.length) {
+                grow();
+            }
+            return insert(slots, key);
+        }
+
+        private boolean insert(long[] table, long key) {
+            int mask = table.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (table[slot] != EMPTY) {
+                if (table[slot] == key) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = key;
+            size++;
+            return true;
+        }
+
+        private void grow() {
+            long[] old = slots;
+            slots = newSlots(old.length * 2);
+            size = 0;
+            for (long key : old) {
+                if (key != EMPTY) {
+                    insert(slots, key);
+                }
+            }
+        }
+
+        private static long[] newSlots(int capacity) {
+            long[] table = new long[capacity];
+            Arrays.fill(table, EMPTY);
+            return table;
+        }
+    }
+
+    // ISBNs already in the catalogue, held as a sorted long[] (8 bytes per book) for binary search
+    private static final class IsbnSet {
+        private final long[] keys;
+
+        private IsbnSet(long[] keys) {
+            this.keys = keys;
+        }
+
+        static IsbnSet of(BookService bookService) {
+            try (Stream<Book> books = bookService.streamAllBooks()) {
+                long[] keys = books.map(Book::getIsbn)
+                        .filter(isbn -> isbn != null)
+                        .mapToLong(BulkBookLoader::isbnKey)
+                        .filter(key -> key >= 0)
+                        .sorted()
+                        .toArray();
+                logger.info("Loaded {} existing ISBNs for duplicate detection", keys.length);
+                return new IsbnSet(keys);
+            }
+        }
+
+        boolean contains(long key) {
+            return Arrays.binarySearch(keys, key) >= 0;
+        }
+    }
+}
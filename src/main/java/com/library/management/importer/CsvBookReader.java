@@ -0,0 +1,127 @@
+package com.library.management.importer;
+
+import com.library.management.entity.Book;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads books from CSV with a header row naming at least title, author and isbn (quantity is optional,
+ * defaulting to 1). Fields may be quoted with double quotes, with "" as an escaped quote; quoted fields
+ * may span lines.
+ */
+public class CsvBookReader implements BookRecordReader {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long lineNumber;
+
+    public CsvBookReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("CSV input is empty");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : new String[]{"title", "author", "isbn"}) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("CSV header is missing column: " + required);
+            }
+        }
+    }
+
+    @Override
+    public Book read() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank()); // skip empty lines
+
+        Book book = new Book();
+        book.setTitle(field(fields, "title"));
+        book.setAuthor(field(fields, "author"));
+        book.setIsbn(field(fields, "isbn"));
+        String quantity = field(fields, "quantity");
+        try {
+            book.setQuantity(quantity == null || quantity.isEmpty() ? 1 : Integer.parseInt(quantity));
+        } catch (NumberFormatException e) {
+            book.setQuantity(-1); // rejected by validation
+        }
+        book.setAvailable(book.getQuantity() > 0);
+        return book;
+    }
+
+    @Override
+    public long position() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            current.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Unterminated quoted field starting before line " + lineNumber);
+            }
+            lineNumber++;
+            current.append('\n');
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,136 @@
+package com.library.management.importer;
+
+import com.library.management.entity.Book;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads books from binary MARC21 (ISO 2709) records: title from 245 $a/$b, author from 100 $a
+ * (falling back to 110 $a) and ISBN from the first 020 $a. Each record is read on its own using
+ * the length in its leader, so memory use does not depend on file size. Quantity is always 1.
+ */
+public class MarcBookReader implements BookRecordReader {
+
+    private static final int LEADER_LENGTH = 24;
+    private static final int DIRECTORY_ENTRY_LENGTH = 12;
+    private static final byte FIELD_TERMINATOR = 0x1E;
+    private static final byte SUBFIELD_DELIMITER = 0x1F;
+
+    private final InputStream input;
+    private long recordNumber;
+
+    public MarcBookReader(InputStream input) {
+        this.input = new BufferedInputStream(input);
+    }
+
+    @Override
+    public Book read() throws IOException {
+        byte[] leader = new byte[LEADER_LENGTH];
+        int first = input.readNBytes(leader, 0, LEADER_LENGTH);
+        if (first == 0) {
+            return null;
+        }
+        recordNumber++;
+        if (first < LEADER_LENGTH) {
+            throw new EOFException("Truncated MARC leader in record " + recordNumber);
+        }
+        int recordLength = parseNumber(leader, 0, 5);
+        int baseAddress = parseNumber(leader, 12, 5);
+        if (recordLength < LEADER_LENGTH || baseAddress < LEADER_LENGTH || baseAddress > recordLength) {
+            throw new IOException("Malformed MARC leader in record " + recordNumber);
+        }
+        byte[] record = new byte[recordLength];
+        System.arraycopy(leader, 0, record, 0, LEADER_LENGTH);
+        if (input.readNBytes(record, LEADER_LENGTH, recordLength - LEADER_LENGTH) < recordLength - LEADER_LENGTH) {
+            throw new EOFException("Truncated MARC record " + recordNumber);
+        }
+
+        String title = null;
+        String subtitle = null;
+        String author = null;
+        String corporateAuthor = null;
+        String isbn = null;
+        for (int entry = LEADER_LENGTH; entry + DIRECTORY_ENTRY_LENGTH <= baseAddress && record[entry] != FIELD_TERMINATOR; entry += DIRECTORY_ENTRY_LENGTH) {
+            String tag = new String(record, entry, 3, StandardCharsets.US_ASCII);
+            int length = parseNumber(record, entry + 3, 4);
+            int start = baseAddress + parseNumber(record, entry + 7, 5);
+            switch (tag) {
+                case "245" -> {
+                    title = subfield(record, start, length, 'a');
+                    subtitle = subfield(record, start, length, 'b');
+                }
+                case "100" -> author = subfield(record, start, length, 'a');
+                case "110" -> corporateAuthor = subfield(record, start, length, 'a');
+                case "020" -> {
+                    if (isbn == null) {
+                        isbn = subfield(record, start, length, 'a');
+                    }
+                }
+                default -> {
+                    // Other fields are not part of the catalogue
+                }
+            }
+        }
+
+        Book book = new Book();
+        book.setTitle(cleanTitle(title, subtitle));
+        book.setAuthor(trimPunctuation(author != null ? author : corporateAuthor));
+        // 020 $a often carries a qualifier such as "9780131103627 (pbk.)"
+        book.setIsbn(isbn == null ? null : isbn.trim().split("\\s+")[0]);
+        book.setQuantity(1);
+        return book;
+    }
+
+    @Override
+    public long position() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private static String subfield(byte[] record, int start, int length, char code) {
+        int end = Math.min(record.length, start + length);
+        for (int i = start; i < end - 1; i++) {
+            if (record[i] == SUBFIELD_DELIMITER && record[i + 1] == code) {
+                int valueStart = i + 2;
+                int valueEnd = valueStart;
+                while (valueEnd < end && record[valueEnd] != SUBFIELD_DELIMITER && record[valueEnd] != FIELD_TERMINATOR) {
+                    valueEnd++;
+                }
+                return new String(record, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static String cleanTitle(String title, String subtitle) {
+        if (title == null) {
+            return null;
+        }
+        String cleaned = trimPunctuation(title);
+        return subtitle == null ? cleaned : cleaned + ": " + trimPunctuation(subtitle);
+    }
+
+    // MARC cataloguing rules leave ISBD punctuation (" /", " :", ",") at the end of subfields
+    private static String trimPunctuation(String value) {
+        return value == null ? null : value.replaceAll("[\\s/:;,=]+$", "").trim();
+    }
+
+    private int parseNumber(byte[] bytes, int offset, int length) throws IOException {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                throw new IOException("Malformed number in MARC record " + recordNumber);
+            }
+            value = value * 10 + (bytes[i] - '0');
+        }
+        return value;
+    }
+}
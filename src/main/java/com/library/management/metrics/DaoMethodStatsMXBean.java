@@ -0,0 +1,13 @@
+package com.library.management.metrics;
+
+// JMX view of one DAO method, registered as com.library.management:type=DAO,dao=...,method=...
+public interface DaoMethodStatsMXBean {
+    long getCalls();
+    long getErrors();
+    long getRows();
+    double getMeanMillis();
+    double getP50Millis();
+    double getP95Millis();
+    double getP99Millis();
+    double getMaxMillis();
+}
@@ -0,0 +1,170 @@
+package com.library.management.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-method latency, row and error counters for DAO calls, plus named gauges such as connection
+ * pool usage. Each method is registered with JMX the first time it is called, and
+ * {@link #toPrometheusText()} renders everything in the Prometheus text format.
+ */
+public class DaoMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(DaoMetrics.class);
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final Map<String, MethodStats> methods = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final MBeanServer mBeanServer;
+
+    public DaoMetrics() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    // A null server disables JMX registration
+    public DaoMetrics(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    public MethodStats stats(String dao, String method) {
+        return methods.computeIfAbsent(dao + "." + method, key -> {
+            MethodStats stats = new MethodStats(dao, method);
+            register(stats);
+            return stats;
+        });
+    }
+
+    public void registerGauge(String name, String help, Supplier<? extends Number> value) {
+        gauges.put(name, new Gauge(help, value));
+    }
+
+    public List<MethodStats> snapshot() {
+        List<MethodStats> snapshot = new ArrayList<>(methods.values());
+        snapshot.sort(Comparator.comparing((MethodStats stats) -> stats.dao).thenComparing(stats -> stats.method));
+        return snapshot;
+    }
+
+    public String toPrometheusText() {
+        List<MethodStats> snapshot = snapshot();
+        StringBuilder out = new StringBuilder();
+        header(out, "library_dao_calls_total", "DAO method calls", "counter");
+        snapshot.forEach(stats -> sample(out, "library_dao_calls_total", stats, null, stats.getCalls()));
+        header(out, "library_dao_errors_total", "DAO method calls that threw", "counter");
+        snapshot.forEach(stats -> sample(out, "library_dao_errors_total", stats, null, stats.getErrors()));
+        header(out, "library_dao_rows_total", "Rows returned by DAO methods", "counter");
+        snapshot.forEach(stats -> sample(out, "library_dao_rows_total", stats, null, stats.getRows()));
+        header(out, "library_dao_latency_seconds", "DAO method latency", "summary");
+        for (MethodStats stats : snapshot) {
+            for (double quantile : QUANTILES) {
+                sample(out, "library_dao_latency_seconds", stats, "quantile=\"" + quantile + "\"",
+                        seconds(stats.histogram.valueAtQuantile(quantile)));
+            }
+            sample(out, "library_dao_latency_seconds_sum", stats, null, seconds(stats.histogram.sumNanos()));
+            sample(out, "library_dao_latency_seconds_count", stats, null, stats.histogram.count());
+        }
+        header(out, "library_dao_latency_max_seconds", "Slowest DAO call since startup", "gauge");
+        snapshot.forEach(stats -> sample(out, "library_dao_latency_max_seconds", stats, null, seconds(stats.histogram.maxNanos())));
+        gauges.forEach((name, gauge) -> {
+            header(out, name, gauge.help, "gauge");
+            out.append(name).append(' ').append(gauge.value.get()).append('\n');
+        });
+        return out.toString();
+    }
+
+    // Slowest methods by total time first, which is where the pool's time goes
+    public void logSummary() {
+        snapshot().stream()
+                .sorted(Comparator.comparingLong((MethodStats stats) -> stats.histogram.sumNanos()).reversed())
+                .forEach(stats -> logger.info("DAO {}.{}: calls={}, errors={}, rows={}, mean={} ms, p99={} ms, max={} ms",
+                        stats.dao, stats.method, stats.getCalls(), stats.getErrors(), stats.getRows(),
+                        format(stats.getMeanMillis()), format(stats.getP99Millis()), format(stats.getMaxMillis())));
+    }
+
+    private void register(MethodStats stats) {
+        if (mBeanServer == null) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName("com.library.management:type=DAO,dao=" + ObjectName.quote(stats.dao)
+                    + ",method=" + ObjectName.quote(stats.method));
+            if (!mBeanServer.isRegistered(name)) {
+                mBeanServer.registerMBean(stats, name);
+            }
+        } catch (JMException e) {
+            logger.warn("Could not register JMX metrics for {}.{}", stats.dao, stats.method, e);
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, MethodStats stats, String extraLabel, Number value) {
+        out.append(name).append("{dao=\"").append(stats.dao).append("\",method=\"").append(stats.method).append('"');
+        if (extraLabel != null) {
+            out.append(',').append(extraLabel);
+        }
+        out.append("} ").append(value).append('\n');
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.2f", millis);
+    }
+
+    private record Gauge(String help, Supplier<? extends Number> value) {
+    }
+
+    public static final class MethodStats implements DaoMethodStatsMXBean {
+        private final String dao;
+        private final String method;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private MethodStats(String dao, String method) {
+            this.dao = dao;
+            this.method = method;
+        }
+
+        public void record(long nanos, long rowCount) {
+            histogram.record(nanos);
+            rows.add(rowCount);
+        }
+
+        public void recordError(long nanos) {
+            histogram.record(nanos);
+            errors.increment();
+        }
+
+        public String getDao() { return dao; }
+        public String getMethod() { return method; }
+
+        @Override public long getCalls() { return histogram.count(); }
+        @Override public long getErrors() { return errors.sum(); }
+        @Override public long getRows() { return rows.sum(); }
+        @Override public double getMeanMillis() { return histogram.meanNanos() / 1_000_000.0; }
+        @Override public double getP50Millis() { return histogram.valueAtQuantile(0.5) / 1_000_000.0; }
+        @Override public double getP95Millis() { return histogram.valueAtQuantile(0.95) / 1_000_000.0; }
+        @Override public double getP99Millis() { return histogram.valueAtQuantile(0.99) / 1_000_000.0; }
+        @Override public double getMaxMillis() { return histogram.maxNanos() / 1_000_000.0; }
+    }
+}
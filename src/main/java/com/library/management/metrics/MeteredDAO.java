@@ -0,0 +1,75 @@
+package com.library.management.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Wraps a DAO so every interface method call is timed and counted in {@link DaoMetrics}. A dynamic
+ * proxy keeps the wrapper in step with the DAO interfaces as they grow. Rows are the size of a
+ * returned collection or map, 1 or 0 for an Optional, and nothing for updates. Returned streams
+ * are timed until they are closed.
+ */
+public final class MeteredDAO {
+
+    private MeteredDAO() {
+    }
+
+    public static <T> T wrap(Class<T> daoType, T target, DaoMetrics metrics) {
+        if (!daoType.isInterface()) {
+            throw new IllegalArgumentException(daoType.getName() + " is not an interface");
+        }
+        String dao = daoType.getSimpleName();
+        InvocationHandler handler = (proxy, method, args) -> invoke(target, method, args, metrics, dao);
+        return daoType.cast(Proxy.newProxyInstance(daoType.getClassLoader(), new Class<?>[]{daoType}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args, DaoMetrics metrics, String dao) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return call(target, method, args);
+        }
+        DaoMetrics.MethodStats stats = metrics.stats(dao, method.getName());
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = call(target, method, args);
+        } catch (Throwable e) {
+            stats.recordError(System.nanoTime() - start);
+            throw e;
+        }
+        if (result instanceof Stream<?> stream) {
+            LongAdder rows = new LongAdder();
+            return stream.peek(row -> rows.increment())
+                    .onClose(() -> stats.record(System.nanoTime() - start, rows.sum()));
+        }
+        stats.record(System.nanoTime() - start, rowCount(result));
+        return result;
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,173 @@
+package com.library.management.service;
+
+import com.library.management.dao.ActivityDAO;
+import com.library.management.entity.MemberActivity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counters for book borrow counts and member activity. A checkout only bumps a
+ * {@link LongAdder}, which spreads contended increments over per-thread cells, and the totals reach
+ * MySQL in one batched transaction every flush interval and once more on shutdown.
+ * <p>
+ * A flush subtracts only what it wrote, after the commit, so increments that race with it are kept
+ * for the next flush and a failed flush is retried with the same deltas. Counters stay in the maps
+ * once created; removing one could drop an increment made through a reference taken just before.
+ */
+public class ActivityCounters implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityCounters.class);
+    private static final int DEFAULT_FLUSH_SECONDS = 30;
+
+    private final ActivityDAO activityDAO;
+    private final Clock clock;
+    private final ConcurrentHashMap<Integer, LongAdder> bookBorrows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, MemberCounters> memberActivity = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private boolean closed;
+
+    public ActivityCounters(ActivityDAO activityDAO) {
+        this(activityDAO, Clock.systemDefaultZone());
+    }
+
+    public ActivityCounters(ActivityDAO activityDAO, Clock clock) {
+        this.activityDAO = activityDAO;
+        this.clock = clock;
+    }
+
+    private static final class MemberCounters {
+        final LongAdder borrows = new LongAdder();
+        final LongAdder returns = new LongAdder();
+        volatile long lastActiveMillis;
+    }
+
+    public record FlushSummary(int books, int members, long elapsedMillis) {
+    }
+
+    public void recordBorrow(int bookId, int memberId) {
+        counter(bookId).increment();
+        MemberCounters member = member(memberId);
+        member.borrows.increment();
+        member.lastActiveMillis = clock.millis();
+    }
+
+    public void recordReturn(int memberId) {
+        MemberCounters member = member(memberId);
+        member.returns.increment();
+        member.lastActiveMillis = clock.millis();
+    }
+
+    // Writes everything counted since the last flush. Serialized, so two flushes never write the same deltas.
+    public synchronized FlushSummary flush() {
+        long start = System.nanoTime();
+        Map<Integer, Long> books = new HashMap<>();
+        bookBorrows.forEach((bookId, counter) -> {
+            long sum = counter.sum();
+            if (sum != 0) {
+                books.put(bookId, sum);
+            }
+        });
+        List<MemberActivity> members = new ArrayList<>();
+        memberActivity.forEach((memberId, counters) -> {
+            long borrows = counters.borrows.sum();
+            long returns = counters.returns.sum();
+            if (borrows != 0 || returns != 0) {
+                LocalDateTime lastActive = LocalDateTime.ofInstant(Instant.ofEpochMilli(counters.lastActiveMillis), clock.getZone());
+                members.add(new MemberActivity(memberId, borrows, returns, lastActive));
+            }
+        });
+        if (books.isEmpty() && members.isEmpty()) {
+            return new FlushSummary(0, 0, 0);
+        }
+        activityDAO.addActivity(books, members);
+        books.forEach((bookId, written) -> bookBorrows.get(bookId).add(-written));
+        for (MemberActivity activity : members) {
+            MemberCounters counters = memberActivity.get(activity.memberId());
+            counters.borrows.add(-activity.borrows());
+            counters.returns.add(-activity.returns());
+        }
+        FlushSummary summary = new FlushSummary(books.size(), members.size(), (System.nanoTime() - start) / 1_000_000);
+        logger.debug("Flushed activity for {} books and {} members in {} ms", summary.books(), summary.members(), summary.elapsedMillis());
+        return summary;
+    }
+
+    public synchronized void start(Duration interval) {
+        if (scheduler != null || closed) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "activity-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("Activity flush failed; the counts are kept for the next attempt", e);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // ACTIVITY_FLUSH_SECONDS sets the interval (default 30)
+    public void startFromEnvironment() {
+        String value = System.getenv("ACTIVITY_FLUSH_SECONDS");
+        int seconds = DEFAULT_FLUSH_SECONDS;
+        if (value != null && !value.isBlank()) {
+            try {
+                seconds = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid ACTIVITY_FLUSH_SECONDS: " + value, e);
+            }
+            if (seconds <= 0) {
+                throw new IllegalArgumentException("ACTIVITY_FLUSH_SECONDS must be positive");
+            }
+        }
+        start(Duration.ofSeconds(seconds));
+    }
+
+    // Stops the schedule and writes what is left. Safe to call more than once, e.g. from a shutdown hook.
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            FlushSummary summary = flush();
+            if (summary.books() > 0 || summary.members() > 0) {
+                logger.info("Final activity flush wrote {} books and {} members", summary.books(), summary.members());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Final activity flush failed; counts since the last flush are lost", e);
+        }
+    }
+
+    private LongAdder counter(int bookId) {
+        LongAdder counter = bookBorrows.get(bookId);
+        return counter != null ? counter : bookBorrows.computeIfAbsent(bookId, id -> new LongAdder());
+    }
+
+    private MemberCounters member(int memberId) {
+        MemberCounters counters = memberActivity.get(memberId);
+        return counters != null ? counters : memberActivity.computeIfAbsent(memberId, id -> new MemberCounters());
+    }
+}
@@ -0,0 +1,54 @@
+package com.library.management.service;
+
+import com.library.management.entity.Book;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Non-blocking view of BookService; each call runs on its own virtual thread by default
+public class AsyncBookService {
+
+    private final BookService bookService;
+    private final Executor executor;
+
+    public AsyncBookService(BookService bookService) {
+        this(bookService, Futures.VIRTUAL_THREADS);
+    }
+
+    public AsyncBookService(BookService bookService, Executor executor) {
+        this.bookService = bookService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Optional<Book>> getBookById(int bookId) {
+        return CompletableFuture.supplyAsync(() -> bookService.getBookById(bookId), executor);
+    }
+
+    public CompletableFuture<Map<Integer, Book>> getBooksByIds(Collection<Integer> bookIds) {
+        return CompletableFuture.supplyAsync(() -> bookService.getBooksByIds(bookIds), executor);
+    }
+
+    public CompletableFuture<List<Book>> searchBooks(String keyword) {
+        return CompletableFuture.supplyAsync(() -> bookService.searchBooks(keyword), executor);
+    }
+
+    public CompletableFuture<List<Book>> getBooksPage(int afterBookId, int pageSize) {
+        return CompletableFuture.supplyAsync(() -> bookService.getBooksPage(afterBookId, pageSize), executor);
+    }
+
+    public CompletableFuture<Void> addBook(Book book) {
+        return CompletableFuture.runAsync(() -> bookService.addBook(book), executor);
+    }
+
+    public CompletableFuture<Void> updateBook(Book book) {
+        return CompletableFuture.runAsync(() -> bookService.updateBook(book), executor);
+    }
+
+    public CompletableFuture<Boolean> deleteBook(int bookId) {
+        return CompletableFuture.supplyAsync(() -> bookService.deleteBook(bookId), executor);
+    }
+}
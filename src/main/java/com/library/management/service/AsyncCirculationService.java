@@ -0,0 +1,47 @@
+package com.library.management.service;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.BookBorrow;
+import com.library.management.entity.Member;
+import com.library.management.entity.PopularBook;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Non-blocking view of CirculationService; each call runs on its own virtual thread by default
+public class AsyncCirculationService {
+
+    private final CirculationService circulationService;
+    private final Executor executor;
+
+    public AsyncCirculationService(CirculationService circulationService) {
+        this(circulationService, Futures.VIRTUAL_THREADS);
+    }
+
+    public AsyncCirculationService(CirculationService circulationService, Executor executor) {
+        this.circulationService = circulationService;
+        this.executor = executor;
+    }
+
+    // Needs only the ID, so it can run alongside the member lookup instead of after it
+    public CompletableFuture<List<BookBorrow>> getActiveBorrows(int memberId) {
+        return CompletableFuture.supplyAsync(() -> {
+            Member member = new Member();
+            member.setMemberId(memberId);
+            return circulationService.loadActiveBorrows(member);
+        }, executor);
+    }
+
+    public CompletableFuture<List<Book>> getOverdueBooks() {
+        return CompletableFuture.supplyAsync(circulationService::getOverdueBooks, executor);
+    }
+
+    public CompletableFuture<List<BookBorrow>> getLoansDueWithin(int days) {
+        return CompletableFuture.supplyAsync(() -> circulationService.getLoansDueWithin(days), executor);
+    }
+
+    public CompletableFuture<List<PopularBook>> getTrendingBooks(PopularityService.Window window, int limit) {
+        return CompletableFuture.supplyAsync(() -> circulationService.getTrendingBooks(window, limit), executor);
+    }
+}
@@ -0,0 +1,52 @@
+package com.library.management.service;
+
+import com.library.management.entity.Librarian;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Non-blocking view of LibrarianService; each call runs on its own virtual thread by default
+public class AsyncLibrarianService {
+
+    private final LibrarianService librarianService;
+    private final Executor executor;
+
+    public AsyncLibrarianService(LibrarianService librarianService) {
+        this(librarianService, Futures.VIRTUAL_THREADS);
+    }
+
+    public AsyncLibrarianService(LibrarianService librarianService, Executor executor) {
+        this.librarianService = librarianService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Optional<Librarian>> getLibrarianById(int librarianId) {
+        return CompletableFuture.supplyAsync(() -> librarianService.getLibrarianById(librarianId), executor);
+    }
+
+    public CompletableFuture<List<Librarian>> getLibrariansPage(int afterLibrarianId, int pageSize) {
+        return CompletableFuture.supplyAsync(() -> librarianService.getLibrariansPage(afterLibrarianId, pageSize), executor);
+    }
+
+    public CompletableFuture<Boolean> isUserNameExists(String userName) {
+        return CompletableFuture.supplyAsync(() -> librarianService.isUserNameExists(userName), executor);
+    }
+
+    public CompletableFuture<Boolean> isEmailExists(String email) {
+        return CompletableFuture.supplyAsync(() -> librarianService.isEmailExists(email), executor);
+    }
+
+    public CompletableFuture<Void> addLibrarian(Librarian librarian) {
+        return CompletableFuture.runAsync(() -> librarianService.addLibrarian(librarian), executor);
+    }
+
+    public CompletableFuture<Void> updateLibrarian(Librarian librarian) {
+        return CompletableFuture.runAsync(() -> librarianService.updateLibrarian(librarian), executor);
+    }
+
+    public CompletableFuture<Boolean> deleteLibrarian(int librarianId) {
+        return CompletableFuture.supplyAsync(() -> librarianService.deleteLibrarian(librarianId), executor);
+    }
+}
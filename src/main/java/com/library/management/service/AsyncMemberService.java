@@ -0,0 +1,66 @@
+package com.library.management.service;
+
+import com.library.management.entity.Member;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Non-blocking view of MemberService; each call runs on its own virtual thread by default
+public class AsyncMemberService {
+
+    private final MemberService memberService;
+    private final Executor executor;
+
+    public AsyncMemberService(MemberService memberService) {
+        this(memberService, Futures.VIRTUAL_THREADS);
+    }
+
+    public AsyncMemberService(MemberService memberService, Executor executor) {
+        this.memberService = memberService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Optional<Member>> getMemberById(int memberId) {
+        return CompletableFuture.supplyAsync(() -> memberService.getMemberById(memberId), executor);
+    }
+
+    public CompletableFuture<Map<Integer, Member>> getMembersByIds(Collection<Integer> memberIds) {
+        return CompletableFuture.supplyAsync(() -> memberService.getMembersByIds(memberIds), executor);
+    }
+
+    public CompletableFuture<List<Member>> getMembersPage(int afterMemberId, int pageSize) {
+        return CompletableFuture.supplyAsync(() -> memberService.getMembersPage(afterMemberId, pageSize), executor);
+    }
+
+    public CompletableFuture<List<Member>> getActiveMembers() {
+        return CompletableFuture.supplyAsync(memberService::getActiveMembers, executor);
+    }
+
+    public CompletableFuture<Boolean> isUserNameExists(String userName) {
+        return CompletableFuture.supplyAsync(() -> memberService.isUserNameExists(userName), executor);
+    }
+
+    public CompletableFuture<Boolean> isEmailExists(String email) {
+        return CompletableFuture.supplyAsync(() -> memberService.isEmailExists(email), executor);
+    }
+
+    public CompletableFuture<Void> addMember(Member member) {
+        return CompletableFuture.runAsync(() -> memberService.addMember(member), executor);
+    }
+
+    public CompletableFuture<Void> updateMember(Member member) {
+        return CompletableFuture.runAsync(() -> memberService.updateMember(member), executor);
+    }
+
+    public CompletableFuture<Boolean> deleteMember(int memberId) {
+        return CompletableFuture.supplyAsync(() -> memberService.deleteMember(memberId), executor);
+    }
+
+    public CompletableFuture<Boolean> deactivateMember(int memberId) {
+        return CompletableFuture.supplyAsync(() -> memberService.deactivateMember(memberId), executor);
+    }
+}
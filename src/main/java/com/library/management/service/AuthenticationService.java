@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class AuthenticationService
 {
@@ -17,18 +18,25 @@ public class AuthenticationService
     private final MemberDAO memberDAO;
     private final LibrarianDAO librarianDAO;
     private final AdminDAO adminDAO;
+    private final PasswordHashingService passwordHashingService;
 
-    public AuthenticationService(MemberDAO memberDAO, LibrarianDAO librarianDAO, AdminDAO adminDAO)
+    public AuthenticationService(MemberDAO memberDAO, LibrarianDAO librarianDAO, AdminDAO adminDAO,
+                                 PasswordHashingService passwordHashingService)
     {
         this.memberDAO = memberDAO;
         this.librarianDAO = librarianDAO;
         this.adminDAO = adminDAO;
+        this.passwordHashingService = passwordHashingService;
     }
 
     public Optional<Member> authenticateMember(String email, String password)
     {
         Optional<Member> memberOpt = memberDAO.getMemberByEmail(email);
         if (memberOpt.isPresent() && checkPassword(password, memberOpt.get().getPassword())) {
+            Member member = memberOpt.get();
+            if (passwordHashingService.needsRehash(member.getPassword())) {
+                rehash(password, member::setPassword, () -> memberDAO.updateMember(member), "member", member.getMemberId());
+            }
             return memberOpt;
         }
         logger.warn("Failed authentication attempt for member with email: {}", email);
@@ -39,6 +47,10 @@ public class AuthenticationService
     {
         Optional<Librarian> librarianOpt = librarianDAO.getLibrarianByEmail(email);
         if (librarianOpt.isPresent() && checkPassword(password, librarianOpt.get().getPassword())) {
+            Librarian librarian = librarianOpt.get();
+            if (passwordHashingService.needsRehash(librarian.getPassword())) {
+                rehash(password, librarian::setPassword, () -> librarianDAO.updateLibrarian(librarian), "librarian", librarian.getLibrarianId());
+            }
             return librarianOpt;
         }
         logger.warn("Failed authentication attempt for librarian with email: {}", email);
@@ -49,6 +61,10 @@ public class AuthenticationService
     {
         Optional<Admin> adminOpt = adminDAO.getAdminByEmail(email);
         if (adminOpt.isPresent() && checkPassword(password, adminOpt.get().getPassword())) {
+            Admin admin = adminOpt.get();
+            if (passwordHashingService.needsRehash(admin.getPassword())) {
+                rehash(password, admin::setPassword, () -> adminDAO.updateAdminPassword(admin.getAdminId(), admin.getPassword()), "admin", admin.getAdminId());
+            }
             return adminOpt;
         }
         logger.warn("Failed authentication attempt for admin with email: {}", email);
@@ -57,7 +73,21 @@ public class AuthenticationService
 
     private boolean checkPassword(String inputPassword, String storedPassword)
     {
-        // Simple password check, comparing input password with stored password
-        return inputPassword.equals(storedPassword);
+        // Runs on the bounded hashing pool; legacy plain-text values are still accepted until rehashed.
+        // A saturated pool throws RejectedExecutionException instead of failing the login.
+        return inputPassword != null && passwordHashingService.verify(inputPassword, storedPassword);
+    }
+
+    // Upgrade a legacy or low-cost hash now that we know the plain-text password
+    private void rehash(String password, Consumer<String> setPassword, Runnable save, String role, int id)
+    {
+        try {
+            setPassword.accept(passwordHashingService.hash(password));
+            save.run();
+            logger.info("Rehashed password for {} with ID: {}", role, id);
+        } catch (Exception e) {
+            // The login itself succeeded; the upgrade is retried on the next login
+            logger.warn("Could not rehash password for {} with ID: {}", role, id, e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.library.management.service;
+
+import java.util.List;
+
+// Outcome of BookService.importBooks: generated IDs in input order plus overall throughput
+public record BookImportResult(List<Integer> bookIds, int chunks, long elapsedMillis) {
+
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? bookIds.size() * 1000.0 : bookIds.size() * 1000.0 / elapsedMillis;
+    }
+}
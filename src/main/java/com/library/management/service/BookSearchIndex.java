@@ -0,0 +1,237 @@
+package com.library.management.service;
+
+import com.library.management.entity.Book;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over book title, author and ISBN.
+ * <p>
+ * Each field is split into lower-case alphanumeric tokens (ISBNs are indexed without hyphens).
+ * A query matches a book when every query term matches one of its tokens exactly, as a prefix,
+ * or as a substring; substring matches are found through a trigram dictionary over tokens, so a
+ * search never walks the whole catalogue. Results are ranked by match quality and field weight.
+ * <p>
+ * Only the searchable text and the book IDs are kept: stock and loan counts change on every
+ * checkout, so callers load the matching books through the (cached) DAO instead.
+ */
+public class BookSearchIndex {
+
+    private static final int EXACT_SCORE = 4;
+    private static final int PREFIX_SCORE = 2;
+    private static final int SUBSTRING_SCORE = 1;
+    private static final int GRAM = 3;
+
+    private enum Field {
+        TITLE(3), AUTHOR(2), ISBN(5);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    // book ID -> tokens indexed for that book, so a book can be removed without its old text
+    private final Map<Integer, Set<String>> tokensByBook = new HashMap<>();
+    // token -> book ID -> best field weight of that token in the book
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    // trigram -> tokens containing it
+    private final Map<String, Set<String>> grams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Book book) {
+        if (book == null || book.getBookId() <= 0) {
+            throw new IllegalArgumentException("Book cannot be null and must have a valid ID");
+        }
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(book.getBookId());
+            Set<String> tokens = new HashSet<>();
+            index(book.getBookId(), book.getTitle(), Field.TITLE, tokens);
+            index(book.getBookId(), book.getAuthor(), Field.AUTHOR, tokens);
+            index(book.getBookId(), normalizeIsbn(book.getIsbn()), Field.ISBN, tokens);
+            tokensByBook.put(book.getBookId(), tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int bookId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            tokensByBook.clear();
+            postings.clear();
+            grams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tokensByBook.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // IDs of the best-matching books, best first
+    public List<Integer> search(String query, int limit) {
+        List<String> terms = tokenize(query != null && query.trim().matches("[0-9Xx-]+") ? normalizeIsbn(query.trim()) : query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = null;
+            for (String term : terms) {
+                Map<Integer, Integer> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every term has to match: keep the intersection and add up the scores
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((bookId, score) -> score + termScores.get(bookId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Integer, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            List<Integer> results = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Map.Entry<Integer, Integer> entry : ranked) {
+                if (results.size() == limit) {
+                    break;
+                }
+                results.add(entry.getKey());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Integer> scoreTerm(String term) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Integer>> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            int quality = entry.getKey().equals(term) ? EXACT_SCORE : PREFIX_SCORE;
+            accumulate(scores, entry.getValue(), quality);
+        }
+        for (String token : substringTokens(term)) {
+            if (!token.startsWith(term)) {
+                accumulate(scores, postings.get(token), SUBSTRING_SCORE);
+            }
+        }
+        return scores;
+    }
+
+    private Set<String> substringTokens(String term) {
+        if (term.length() < GRAM) {
+            return Set.of();
+        }
+        Set<String> candidates = null;
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            Set<String> tokens = grams.getOrDefault(term.substring(i, i + GRAM), Set.of());
+            if (candidates == null) {
+                candidates = new HashSet<>(tokens);
+            } else {
+                candidates.retainAll(tokens);
+            }
+            if (candidates.isEmpty()) {
+                return Set.of();
+            }
+        }
+        candidates.removeIf(token -> !token.contains(term));
+        return candidates;
+    }
+
+    private static void accumulate(Map<Integer, Integer> scores, Map<Integer, Integer> posting, int quality) {
+        for (Map.Entry<Integer, Integer> match : posting.entrySet()) {
+            scores.merge(match.getKey(), quality * match.getValue(), Math::max);
+        }
+    }
+
+    private void index(int bookId, String text, Field field, Set<String> indexed) {
+        for (String token : tokenize(text)) {
+            indexed.add(token);
+            Map<Integer, Integer> posting = postings.get(token);
+            if (posting == null) {
+                posting = new HashMap<>();
+                postings.put(token, posting);
+                for (int i = 0; i + GRAM <= token.length(); i++) {
+                    grams.computeIfAbsent(token.substring(i, i + GRAM), gram -> new HashSet<>()).add(token);
+                }
+            }
+            posting.merge(bookId, field.weight, Math::max);
+        }
+    }
+
+    private void removeUnlocked(int bookId) {
+        Set<String> tokens = tokensByBook.remove(bookId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Integer, Integer> posting = postings.get(token);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(bookId);
+            if (posting.isEmpty()) {
+                postings.remove(token);
+                for (int i = 0; i + GRAM <= token.length(); i++) {
+                    String gram = token.substring(i, i + GRAM);
+                    Set<String> gramTokens = grams.get(gram);
+                    if (gramTokens != null) {
+                        gramTokens.remove(token);
+                        if (gramTokens.isEmpty()) {
+                            grams.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalizeIsbn(String isbn) {
+        return isbn == null ? null : isbn.replace("-", "");
+    }
+}
@@ -2,21 +2,54 @@ package com.library.management.service;
 
 import com.library.management.dao.BookDAO;
 import com.library.management.entity.Book;
+import com.library.management.util.SingleFlight;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class BookService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookService.class);
+    private static final int SEARCH_RESULT_LIMIT = 200;
+    public static final int DEFAULT_IMPORT_CHUNK_SIZE = 1000;
     private final BookDAO bookDAO;
+    private final BookSearchIndex searchIndex; // null when searches go to the database
+    // A burst of identical lookups (e.g. a newly announced title) shares one DAO call and one pooled connection
+    private final SingleFlight<Integer, Optional<Book>> bookLookups = new SingleFlight<>(book -> book.map(Book::new));
+    private final SingleFlight<String, List<Book>> bookSearches = new SingleFlight<>(BookService::copyOf);
 
     // Constructor
     public BookService(BookDAO bookDAO) {
+        this(bookDAO, null);
+    }
+
+    // Searches are answered from the given in-memory index; call rebuildSearchIndex() before first use
+    public BookService(BookDAO bookDAO, BookSearchIndex searchIndex) {
         this.bookDAO = bookDAO;
+        this.searchIndex = searchIndex;
+    }
+
+    // Load every book into the search index with a single streaming scan
+    public void rebuildSearchIndex() {
+        if (searchIndex == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (Stream<Book> books = bookDAO.streamAllBooks()) {
+            searchIndex.clear();
+            books.forEach(searchIndex::add);
+            logger.info("Search index built with {} books in {} ms", searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Error building search index", e);
+            throw new RuntimeException("Failed to build search index", e);
+        }
     }
 
     // Add a new book
@@ -27,6 +60,9 @@ public class BookService {
         }
         try {
             bookDAO.addBook(book);
+            if (searchIndex != null) {
+                searchIndex.add(book);
+            }
             logger.info("Book added successfully with ID: {}", book.getBookId());
         } catch (Exception e) {
             logger.error("Error adding book: {}", book, e);
@@ -34,6 +70,56 @@ public class BookService {
         }
     }
 
+    // Bulk-load books in chunks; each chunk is one batched insert in its own transaction
+    public BookImportResult importBooks(Collection<Book> books) {
+        return importBooks(books, DEFAULT_IMPORT_CHUNK_SIZE);
+    }
+
+    public BookImportResult importBooks(Collection<Book> books, int chunkSize) {
+        if (books == null || books.contains(null)) {
+            logger.error("Cannot import books: collection is null or contains null.");
+            throw new IllegalArgumentException("Books cannot be null");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<Integer> ids = new ArrayList<>(books.size());
+        List<Book> chunk = new ArrayList<>(Math.min(chunkSize, books.size()));
+        int chunks = 0;
+        long start = System.nanoTime();
+        try {
+            for (Book book : books) {
+                chunk.add(book);
+                if (chunk.size() == chunkSize) {
+                    ids.addAll(importChunk(chunk, ++chunks));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                ids.addAll(importChunk(chunk, ++chunks));
+            }
+        } catch (Exception e) {
+            logger.error("Error importing books after {} rows in {} chunks", ids.size(), chunks, e);
+            throw new RuntimeException("Failed to import books", e);
+        }
+        BookImportResult result = new BookImportResult(ids, chunks, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Imported {} books in {} chunks, {} ms ({} rows/s)",
+                ids.size(), chunks, result.elapsedMillis(), Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    private List<Integer> importChunk(List<Book> chunk, int chunkNumber) {
+        long start = System.nanoTime();
+        List<Integer> ids = bookDAO.addBooks(chunk);
+        long micros = Math.max(1, (System.nanoTime() - start) / 1_000);
+        logger.info("Import chunk {}: {} rows in {} ms ({} rows/s)",
+                chunkNumber, chunk.size(), micros / 1_000, chunk.size() * 1_000_000L / micros);
+        if (searchIndex != null) {
+            chunk.forEach(searchIndex::add);
+        }
+        return ids;
+    }
+
     public void updateBook(Book book) {
         if (book == null || book.getBookId() <= 0) {
             logger.error("Cannot update book: book object is null or has invalid ID.");
@@ -41,6 +127,9 @@ public class BookService {
         }
         try {
             bookDAO.updateBook(book);
+            if (searchIndex != null) {
+                searchIndex.add(book);
+            }
             logger.info("Book updated successfully: {}", book);
         }catch(Exception e){
             logger.error("Error updating book: {}", book, e);
@@ -54,7 +143,7 @@ public class BookService {
             throw new IllegalArgumentException("Book ID must be a positive integer");
         }
         try {
-            Optional<Book> optionalBook = bookDAO.getBookById(bookId);
+            Optional<Book> optionalBook = bookLookups.execute(bookId, () -> bookDAO.getBookById(bookId));
             if (optionalBook.isEmpty()) {
                 logger.warn("Book with ID {} not found", bookId);
             }
@@ -65,6 +154,23 @@ public class BookService {
         }
     }
 
+    // One round trip per chunk of IDs instead of one per book; cached books are not fetched again
+    public Map<Integer, Book> getBooksByIds(Collection<Integer> bookIds) {
+        try {
+            Map<Integer, Book> books = bookDAO.getBooksByIds(bookIds);
+            if (books.size() < bookIds.size()) {
+                logger.debug("Found {} of {} requested books", books.size(), bookIds.size());
+            }
+            return books;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid book IDs: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error retrieving books by ID", e);
+            throw new RuntimeException("Failed to retrieve books", e);
+        }
+    }
+
     // Delete a book by ID
     public boolean deleteBook(int bookId) {
         if (bookId <= 0) {
@@ -73,6 +179,9 @@ public class BookService {
         }
         try {
             boolean result = bookDAO.deleteBook(bookId);
+            if (searchIndex != null) {
+                searchIndex.remove(bookId);
+            }
             if (result) {
                 logger.info("Book deleted successfully with ID: {}", bookId);
             } else {
@@ -93,7 +202,11 @@ public class BookService {
             throw new IllegalArgumentException("Search keyword cannot be null or empty");
         }
         try {
-            return bookDAO.searchBooks(keyword);
+            if (searchIndex != null) {
+                // The index only ranks IDs; current stock comes from the DAO, in ranked order
+                return new ArrayList<>(bookDAO.getBooksByIds(searchIndex.search(keyword, SEARCH_RESULT_LIMIT)).values());
+            }
+            return bookSearches.execute(keyword, () -> bookDAO.searchBooks(keyword));
         } catch (Exception e) {
             logger.error("Error searching books with keyword: {}", keyword, e);
             throw new RuntimeException("Failed to search books", e);
@@ -110,6 +223,24 @@ public class BookService {
         }
     }
 
+    // Retrieve the page of books that follows the given book ID
+    public List<Book> getBooksPage(int afterBookId, int pageSize) {
+        try {
+            return bookDAO.getBooksPage(afterBookId, pageSize);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error retrieving books after ID: {}", afterBookId, e);
+            throw new RuntimeException("Failed to retrieve page of books", e);
+        }
+    }
+
+    // Stream every book without loading the catalogue into memory; close the stream when done
+    public Stream<Book> streamAllBooks() {
+        return bookDAO.streamAllBooks();
+    }
+
     // Get overdue books
     public List<Book> getOverdueBooks() {
         try {
@@ -119,4 +250,16 @@ public class BookService {
             throw new RuntimeException("Failed to retrieve overdue books", e);
         }
     }
+
+    public void logStats() {
+        logger.info("Coalesced book lookups: {}, searches: {}", bookLookups, bookSearches);
+    }
+
+    private static List<Book> copyOf(List<Book> books) {
+        List<Book> copies = new ArrayList<>(books.size());
+        for (Book book : books) {
+            copies.add(new Book(book));
+        }
+        return copies;
+    }
 }
@@ -0,0 +1,262 @@
+package com.library.management.service;
+
+import com.library.management.dao.BookBorrowDAO;
+import com.library.management.dao.BookDAO;
+import com.library.management.entity.Book;
+import com.library.management.entity.BookBorrow;
+import com.library.management.entity.BorrowEvent;
+import com.library.management.entity.Member;
+import com.library.management.entity.OpenLoan;
+import com.library.management.entity.PopularBook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class CirculationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CirculationService.class);
+    private static final int LOAN_PERIOD_WEEKS = 2;
+    private final BookDAO bookDAO;
+    private final BookBorrowDAO bookBorrowDAO;
+    private final ActivityCounters activityCounters; // null when borrow counts are not kept
+    private final OverdueEngine overdueEngine = new OverdueEngine();
+    private volatile boolean overdueTracking;
+    private final PopularityService popularityService = new PopularityService();
+    private volatile boolean popularityTracking;
+
+    // Constructor
+    public CirculationService(BookDAO bookDAO, BookBorrowDAO bookBorrowDAO) {
+        this(bookDAO, bookBorrowDAO, null);
+    }
+
+    public CirculationService(BookDAO bookDAO, BookBorrowDAO bookBorrowDAO, ActivityCounters activityCounters) {
+        this.bookDAO = bookDAO;
+        this.bookBorrowDAO = bookBorrowDAO;
+        this.activityCounters = activityCounters;
+    }
+
+    // Seed the overdue index from one streaming scan of open loans and start the daily overdue events.
+    // Until this is called, overdue queries go to the database.
+    public void initializeOverdueTracking() {
+        long start = System.nanoTime();
+        try (Stream<OpenLoan> loans = bookBorrowDAO.streamOpenLoans()) {
+            overdueEngine.seed(loans);
+        } catch (Exception e) {
+            logger.error("Error loading open loans", e);
+            throw new RuntimeException("Failed to initialize overdue tracking", e);
+        }
+        overdueEngine.addListener(loan -> logger.info("Borrow ID {} (book ID {}, member ID {}) is now overdue, due {}",
+                loan.borrowId(), loan.bookId(), loan.memberId(), loan.dueDate()));
+        overdueEngine.start();
+        overdueTracking = true;
+        logger.info("Overdue index built with {} open loans in {} ms", overdueEngine.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Seed the trending windows from the last month of loans; later borrows are counted as they happen.
+    // Until this is called, trending queries are refused.
+    public void initializePopularityTracking() {
+        long start = System.nanoTime();
+        LocalDate since = LocalDate.now().minusDays(PopularityService.Window.MONTH.length().toDays());
+        try (Stream<BorrowEvent> borrows = bookBorrowDAO.streamBorrowsSince(since)) {
+            popularityService.seed(borrows);
+        } catch (Exception e) {
+            logger.error("Error loading loans since {}", since, e);
+            throw new RuntimeException("Failed to initialize popularity tracking", e);
+        }
+        popularityTracking = true;
+        logger.info("Popularity windows seeded from loans since {} in {} ms", since, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public OverdueEngine getOverdueEngine() {
+        return overdueEngine;
+    }
+
+    // Lend one copy of the book to the member; empty if the book does not exist or no copy is left.
+    // Availability is decided by the guarded decrement in the DAO, not by a prior read.
+    public Optional<BookBorrow> borrowBook(Member member, int bookId) {
+        if (member == null || member.getMemberId() <= 0 || bookId <= 0) {
+            logger.error("Cannot borrow book: member is null or an ID is invalid.");
+            throw new IllegalArgumentException("Member and book must have valid IDs");
+        }
+        LocalDate today = LocalDate.now();
+        Book placeholder = new Book();
+        placeholder.setBookId(bookId);
+        BookBorrow borrow = new BookBorrow(member, placeholder, today, today.plusWeeks(LOAN_PERIOD_WEEKS));
+        try {
+            if (!bookBorrowDAO.addBorrow(borrow)) {
+                logger.info("No copies left of book ID {} for member ID {}", bookId, member.getMemberId());
+                return Optional.empty();
+            }
+        } catch (Exception e) {
+            logger.error("Error borrowing book ID {} for member ID {}", bookId, member.getMemberId(), e);
+            throw new RuntimeException("Failed to borrow book", e);
+        }
+        // The loan is committed: from here on nothing may report the borrow as failed
+        member.addBookBorrow(borrow);
+        overdueEngine.track(new OpenLoan(borrow.getBorrowId(), member.getMemberId(), bookId,
+                borrow.getBorrowDate(), borrow.getDueDate()));
+        if (activityCounters != null) {
+            activityCounters.recordBorrow(bookId, member.getMemberId());
+        }
+        popularityService.record(bookId);
+        logger.info("Book ID {} borrowed by member ID {} (borrow ID {})", bookId, member.getMemberId(), borrow.getBorrowId());
+        return Optional.of(withCatalogueBook(member, borrow));
+    }
+
+    // The catalogue row is only needed for display, so a failed read keeps the placeholder book
+    private BookBorrow withCatalogueBook(Member member, BookBorrow borrow) {
+        int bookId = borrow.getBook().getBookId();
+        Optional<Book> book;
+        try {
+            bookDAO.invalidate(bookId);
+            book = bookDAO.getBookById(bookId);
+        } catch (Exception e) {
+            logger.warn("Could not load book ID {} for borrow ID {}", bookId, borrow.getBorrowId(), e);
+            return borrow;
+        }
+        if (book.isEmpty()) {
+            return borrow;
+        }
+        BookBorrow recorded = new BookBorrow(member, book.get(), borrow.getBorrowDate(), borrow.getDueDate());
+        recorded.setBorrowId(borrow.getBorrowId());
+        member.removeBookBorrow(borrow);
+        member.addBookBorrow(recorded);
+        return recorded;
+    }
+
+    // Close the loan and return the copy to the shelf
+    public boolean returnBook(Member member, BookBorrow borrow) {
+        if (member == null || borrow == null) {
+            logger.error("Cannot return book: member or borrow is null.");
+            throw new IllegalArgumentException("Member and borrow cannot be null");
+        }
+        try {
+            boolean returned = bookBorrowDAO.returnBorrow(borrow, LocalDate.now());
+            if (returned) {
+                bookDAO.invalidate(borrow.getBook().getBookId());
+                if (activityCounters != null) {
+                    activityCounters.recordReturn(member.getMemberId());
+                }
+            }
+            // Either way the loan is no longer open, so drop it from the member's view
+            member.removeBookBorrow(borrow);
+            overdueEngine.release(borrow.getBorrowId());
+            if (returned) {
+                logger.info("Borrow ID {} returned by member ID {}", borrow.getBorrowId(), member.getMemberId());
+            } else {
+                logger.warn("Borrow ID {} was already returned", borrow.getBorrowId());
+            }
+            return returned;
+        } catch (Exception e) {
+            logger.error("Error returning borrow: {}", borrow, e);
+            throw new RuntimeException("Failed to return book", e);
+        }
+    }
+
+    // Load the member's open loans from the ledger into the member object
+    public List<BookBorrow> loadActiveBorrows(Member member) {
+        if (member == null || member.getMemberId() <= 0) {
+            logger.error("Cannot load borrows: member is null or has invalid ID.");
+            throw new IllegalArgumentException("Member cannot be null and must have a valid ID");
+        }
+        try {
+            List<BookBorrow> borrows = bookBorrowDAO.getActiveBorrowsByMember(member);
+            member.getBookBorrows().forEach(member::removeBookBorrow);
+            borrows.forEach(member::addBookBorrow);
+            return borrows;
+        } catch (Exception e) {
+            logger.error("Error loading borrows for member ID {}", member.getMemberId(), e);
+            throw new RuntimeException("Failed to load borrowed books", e);
+        }
+    }
+
+    // One book per overdue loan, oldest due date first
+    public List<Book> getOverdueBooks() {
+        try {
+            if (!overdueTracking) {
+                return bookDAO.getOverdueBooks();
+            }
+            List<OpenLoan> loans = overdueEngine.overdue();
+            Map<Integer, Book> books = bookDAO.getBooksByIds(loans.stream().map(OpenLoan::bookId).toList());
+            List<Book> overdueBooks = new ArrayList<>(loans.size());
+            for (OpenLoan loan : loans) {
+                Book book = books.get(loan.bookId());
+                if (book != null) {
+                    overdueBooks.add(book);
+                }
+            }
+            return overdueBooks;
+        } catch (Exception e) {
+            logger.error("Error retrieving overdue books", e);
+            throw new RuntimeException("Failed to retrieve overdue books", e);
+        }
+    }
+
+    // Open loans falling due from today through the next given number of days, soonest first.
+    // The member on each loan carries only its ID.
+    public List<BookBorrow> getLoansDueWithin(int days) {
+        if (!overdueTracking) {
+            throw new IllegalStateException("Overdue tracking has not been initialized");
+        }
+        try {
+            List<OpenLoan> loans = overdueEngine.dueWithin(days);
+            Map<Integer, Book> books = bookDAO.getBooksByIds(loans.stream().map(OpenLoan::bookId).toList());
+            List<BookBorrow> borrows = new ArrayList<>(loans.size());
+            for (OpenLoan loan : loans) {
+                Member member = new Member();
+                member.setMemberId(loan.memberId());
+                Book book = books.get(loan.bookId());
+                if (book == null) {
+                    book = new Book();
+                    book.setBookId(loan.bookId());
+                }
+                BookBorrow borrow = new BookBorrow(member, book, loan.borrowDate(), loan.dueDate());
+                borrow.setBorrowId(loan.borrowId());
+                borrows.add(borrow);
+            }
+            return borrows;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid due-soon request: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error retrieving loans due within {} days", days, e);
+            throw new RuntimeException("Failed to retrieve loans due soon", e);
+        }
+    }
+
+    // The most borrowed books in the window, most borrowed first; borrow counts are estimates
+    public List<PopularBook> getTrendingBooks(PopularityService.Window window, int limit) {
+        if (!popularityTracking) {
+            throw new IllegalStateException("Popularity tracking has not been initialized");
+        }
+        try {
+            List<PopularityService.Ranked> ranked = popularityService.top(window, limit);
+            Map<Integer, Book> books = bookDAO.getBooksByIds(ranked.stream().map(PopularityService.Ranked::bookId).toList());
+            List<PopularBook> trending = new ArrayList<>(ranked.size());
+            for (PopularityService.Ranked entry : ranked) {
+                Book book = books.get(entry.bookId());
+                // A book deleted since it was borrowed drops off the list
+                if (book != null) {
+                    trending.add(new PopularBook(book, entry.borrows()));
+                }
+            }
+            return trending;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid trending request: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error retrieving trending books for {}", window, e);
+            throw new RuntimeException("Failed to retrieve trending books", e);
+        }
+    }
+
+    public void shutdown() {
+        overdueEngine.close();
+    }
+}
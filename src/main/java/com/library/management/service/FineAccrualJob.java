@@ -0,0 +1,175 @@
+package com.library.management.service;
+
+import com.library.management.dao.FineDAO;
+import com.library.management.entity.FineRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nightly fine accrual. Each run walks {@code book_borrows} in primary-key ranges of
+ * {@code chunkSize} borrow IDs and lets MySQL compute and upsert the fines of a whole range in one
+ * statement, so a million open loans take a few dozen round trips rather than a million.
+ * <p>
+ * Every chunk commits together with the run's checkpoint in {@code fine_job_runs}. A run that
+ * crashes resumes after the last committed chunk, and re-running a completed day is a no-op.
+ * Fines are recomputed from the due date rather than added to, so a chunk that is processed twice
+ * never charges twice.
+ */
+public class FineAccrualJob implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FineAccrualJob.class);
+    private static final int DEFAULT_CHUNK_SIZE = 50_000;
+
+    private final FineDAO fineDAO;
+    private final FinePolicy policy;
+    private final int chunkSize;
+    private final Clock clock;
+    private ScheduledExecutorService scheduler;
+
+    public FineAccrualJob(FineDAO fineDAO) {
+        this(fineDAO, FinePolicy.fromEnvironment(), intFromEnvironment("FINE_CHUNK_SIZE", DEFAULT_CHUNK_SIZE), Clock.systemDefaultZone());
+    }
+
+    public FineAccrualJob(FineDAO fineDAO, FinePolicy policy, int chunkSize, Clock clock) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.fineDAO = fineDAO;
+        this.policy = policy;
+        this.chunkSize = chunkSize;
+        this.clock = clock;
+    }
+
+    // Fines in cents: dailyRateCents per day overdue up to maximumCents per loan. Loans returned late
+    // are settled if they came back within the last returnedLookbackDays, which covers missed nights.
+    public record FinePolicy(long dailyRateCents, long maximumCents, int returnedLookbackDays) {
+
+        public FinePolicy {
+            if (dailyRateCents < 0 || maximumCents < 0 || returnedLookbackDays < 1) {
+                throw new IllegalArgumentException("Invalid fine policy");
+            }
+        }
+
+        public static FinePolicy fromEnvironment() {
+            return new FinePolicy(intFromEnvironment("FINE_DAILY_CENTS", 25),
+                    intFromEnvironment("FINE_MAX_CENTS", 2_000),
+                    intFromEnvironment("FINE_RETURNED_LOOKBACK_DAYS", 7));
+        }
+    }
+
+    public record RunSummary(LocalDate runDate, long rowsChanged, int chunks, boolean resumed, long elapsedMillis) {
+    }
+
+    public RunSummary runToday() {
+        return run(LocalDate.now(clock));
+    }
+
+    // Assesses fines as of runDate, continuing from the run's checkpoint if it was interrupted
+    public RunSummary run(LocalDate runDate) {
+        long start = System.nanoTime();
+        FineRun run = fineDAO.startRun(runDate);
+        boolean resumed = run.lastBorrowId() > 0 && !run.completed();
+        if (resumed) {
+            logger.info("Resuming fine run for {} after borrow ID {} of {}", runDate, run.lastBorrowId(), run.maxBorrowId());
+        }
+        long rowsChanged = 0;
+        int chunks = 0;
+        int after = run.lastBorrowId();
+        while (!run.completed() && after < run.maxBorrowId()) {
+            int through = (int) Math.min((long) after + chunkSize, run.maxBorrowId());
+            int changed = fineDAO.accrueFines(runDate, after, through, policy.dailyRateCents(), policy.maximumCents(),
+                    runDate.minusDays(policy.returnedLookbackDays()));
+            if (changed < 0) {
+                // Another instance moved the checkpoint; pick up from wherever it is now
+                run = fineDAO.startRun(runDate);
+                after = run.lastBorrowId();
+                continue;
+            }
+            rowsChanged += changed;
+            chunks++;
+            after = through;
+        }
+        if (!run.completed()) {
+            fineDAO.completeRun(runDate);
+        }
+        RunSummary summary = new RunSummary(runDate, rowsChanged, chunks, resumed, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Fine run for {} finished: {} chunks, {} rows changed in {} ms", runDate, chunks, rowsChanged, summary.elapsedMillis());
+        return summary;
+    }
+
+    // Runs once a day at the given local time. A run missed while the application was down is
+    // caught up immediately; a day that has already completed is skipped by its checkpoint.
+    public synchronized void start(LocalTime runAt) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fine-accrual");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LocalDateTime now = LocalDateTime.now(clock);
+        scheduleNext(now.toLocalTime().isBefore(runAt) ? Duration.between(now.toLocalTime(), runAt) : Duration.ZERO, runAt);
+    }
+
+    // Usage: FINE_JOB_TIME=HH:mm starts the nightly schedule; unset leaves it off
+    public void startFromEnvironment() {
+        String value = System.getenv("FINE_JOB_TIME");
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        try {
+            start(LocalTime.parse(value.trim()));
+            logger.info("Fine accrual scheduled daily at {}", value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid FINE_JOB_TIME: " + value, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // Rescheduled after every run rather than at a fixed rate, so the time of day survives DST changes
+    private synchronized void scheduleNext(Duration delay, LocalTime runAt) {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            try {
+                runToday();
+            } catch (RuntimeException e) {
+                logger.error("Fine run failed; it resumes from its checkpoint on the next attempt", e);
+            }
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime next = now.toLocalDate().plusDays(1).atTime(runAt);
+            scheduleNext(Duration.between(now, next), runAt);
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static int intFromEnvironment(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.library.management.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+
+/**
+ * Helpers for fanning independent service calls out in parallel and joining the results, so a
+ * screen that needs several lookups waits for the slowest one rather than for their sum.
+ */
+public final class Futures {
+
+    // One virtual thread per task; it holds no pooled threads, so it is shared and never shut down
+    static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Futures() {
+    }
+
+    @FunctionalInterface
+    public interface Function3<A, B, C, R> {
+        R apply(A a, B b, C c);
+    }
+
+    public static <A, B, R> CompletableFuture<R> both(CompletableFuture<A> first, CompletableFuture<B> second,
+                                                      BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return first.thenCombine(second, combiner);
+    }
+
+    public static <A, B, C, R> CompletableFuture<R> all(CompletableFuture<A> first, CompletableFuture<B> second,
+                                                        CompletableFuture<C> third,
+                                                        Function3<? super A, ? super B, ? super C, ? extends R> combiner) {
+        return CompletableFuture.allOf(first, second, third)
+                .thenApply(ignored -> combiner.apply(first.join(), second.join(), third.join()));
+    }
+
+    // Completes with the results in the order of the futures, or with the first failure
+    public static <T> CompletableFuture<List<T>> allOf(List<? extends CompletableFuture<? extends T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().<T>map(CompletableFuture::join).toList());
+    }
+
+    // Waits for the result and rethrows a failure as the service threw it, without the
+    // ExecutionException wrapper, so callers keep their usual catch blocks
+    public static <T> T await(CompletableFuture<T> future, Duration timeout) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a service call", e);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Service call timed out after " + timeout.toMillis() + " ms", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(cause);
+    }
+}
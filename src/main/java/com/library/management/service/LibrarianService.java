@@ -8,14 +8,48 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class LibrarianService {
 
     private static final Logger logger = LoggerFactory.getLogger(LibrarianService.class);
     private final LibrarianDAO librarianDAO;
+    private final PasswordHashingService passwordHashingService;
+    private final UniquenessFilter userNameFilter = new UniquenessFilter();
+    private final UniquenessFilter emailFilter = new UniquenessFilter();
 
-    public LibrarianService(LibrarianDAO librarianDAO) {
+    public LibrarianService(LibrarianDAO librarianDAO, PasswordHashingService passwordHashingService) {
         this.librarianDAO = librarianDAO;
+        this.passwordHashingService = passwordHashingService;
+    }
+
+    // Seed the in-memory user name and email filters with one streaming scan of the librarians table
+    public void initializeUniquenessFilters() {
+        long start = System.nanoTime();
+        userNameFilter.beginRebuild();
+        emailFilter.beginRebuild();
+        boolean completed = false;
+        try (Stream<Librarian> librarians = librarianDAO.streamAllLibrarians()) {
+            librarians.forEach(librarian -> {
+                userNameFilter.seed(librarian.getUserName());
+                emailFilter.seed(librarian.getEmail());
+            });
+            completed = true;
+            logger.info("Librarian uniqueness filters built in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            // Checks keep going to the database until a rebuild succeeds
+            logger.error("Error building librarian uniqueness filters", e);
+        } finally {
+            userNameFilter.endRebuild(completed);
+            emailFilter.endRebuild(completed);
+        }
+    }
+
+    // Replace a plain-text password set by the UI with its hash; stored hashes pass through unchanged
+    private void hashPassword(Librarian librarian) {
+        if (librarian.getPassword() != null && !passwordHashingService.isHashed(librarian.getPassword())) {
+            librarian.setPassword(passwordHashingService.hash(librarian.getPassword()));
+        }
     }
 
     private void validateLibrarian(Librarian librarian) {
@@ -32,6 +66,9 @@ public class LibrarianService {
             logger.error("Cannot check if username exists: username is null or empty.");
             throw new IllegalArgumentException("Username cannot be null or empty");
         }
+        if (!userNameFilter.mightContain(userName)) {
+            return false;
+        }
         try {
             return librarianDAO.getLibrarianByUserName(userName).isPresent();
         } catch (Exception e) {
@@ -47,7 +84,10 @@ public class LibrarianService {
         }
         try {
             validateLibrarian(librarian);
+            hashPassword(librarian);
             librarianDAO.addLibrarian(librarian);
+            userNameFilter.add(librarian.getUserName());
+            emailFilter.add(librarian.getEmail());
             logger.info("Successfully registered librarian with ID: {}", librarian.getLibrarianId());
         } catch (IllegalArgumentException e) {
             logger.error("Validation failed for librarian: {}", e.getMessage());
@@ -65,7 +105,10 @@ public class LibrarianService {
         }
         try {
             validateLibrarian(librarian);
+            hashPassword(librarian);
             librarianDAO.updateLibrarian(librarian);
+            userNameFilter.add(librarian.getUserName());
+            emailFilter.add(librarian.getEmail());
             logger.info("Successfully updated librarian with ID: {}", librarian.getLibrarianId());
         } catch (Exception e) {
             logger.error("Error updating librarian: {}", e.getMessage(), e);
@@ -121,7 +164,28 @@ public class LibrarianService {
             throw new RuntimeException("Failed to retrieve librarians", e);
         }
     }
+
+    public List<Librarian> getLibrariansPage(int afterLibrarianId, int pageSize) {
+        try {
+            return librarianDAO.getLibrariansPage(afterLibrarianId, pageSize);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error retrieving librarians after ID: {}", afterLibrarianId, e);
+            throw new RuntimeException("Failed to retrieve page of librarians", e);
+        }
+    }
+
+    // Close the stream when done
+    public Stream<Librarian> streamAllLibrarians() {
+        return librarianDAO.streamAllLibrarians();
+    }
+
     public boolean isEmailExists(String email) {
+        if (!emailFilter.mightContain(email)) {
+            return false;
+        }
         return librarianDAO.getLibrarianByEmail(email).isPresent();
     }
 }
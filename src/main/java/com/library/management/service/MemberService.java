@@ -5,17 +5,53 @@ import com.library.management.entity.Member;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class MemberService {
 
     private static final Logger logger = LoggerFactory.getLogger(MemberService.class);
     private  final MemberDAO memberDAO;
+    private final PasswordHashingService passwordHashingService;
+    private final UniquenessFilter userNameFilter = new UniquenessFilter();
+    private final UniquenessFilter emailFilter = new UniquenessFilter();
 
     // Constructor
-    public MemberService(MemberDAO memberDAO) {
+    public MemberService(MemberDAO memberDAO, PasswordHashingService passwordHashingService) {
         this.memberDAO = memberDAO;
+        this.passwordHashingService = passwordHashingService;
+    }
+
+    // Seed the in-memory user name and email filters with one streaming scan of the members table
+    public void initializeUniquenessFilters() {
+        long start = System.nanoTime();
+        userNameFilter.beginRebuild();
+        emailFilter.beginRebuild();
+        boolean completed = false;
+        try (Stream<Member> members = memberDAO.streamAllMembers()) {
+            members.forEach(member -> {
+                userNameFilter.seed(member.getUserName());
+                emailFilter.seed(member.getEmail());
+            });
+            completed = true;
+            logger.info("Member uniqueness filters built in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            // Checks keep going to the database until a rebuild succeeds
+            logger.error("Error building member uniqueness filters", e);
+        } finally {
+            userNameFilter.endRebuild(completed);
+            emailFilter.endRebuild(completed);
+        }
+    }
+
+    // Replace a plain-text password set by the UI with its hash; stored hashes pass through unchanged
+    private void hashPassword(Member member) {
+        if (member.getPassword() != null && !passwordHashingService.isHashed(member.getPassword())) {
+            member.setPassword(passwordHashingService.hash(member.getPassword()));
+        }
     }
 
     private boolean isValidEmail(String email) {
@@ -24,7 +60,8 @@ public class MemberService {
     }
 
 
-    private void validateMember(Member member) {
+    // Package-private so the benchmarks module can measure it
+    void validateMember(Member member) {
         if (member.getUserName() == null || member.getUserName().isEmpty()) {
             throw new IllegalArgumentException("Member name cannot be null or empty");
         }
@@ -42,6 +79,9 @@ public class MemberService {
             logger.error("Cannot check if username exists: username is null or empty.");
             throw new IllegalArgumentException("Username cannot be null or empty");
         }
+        if (!userNameFilter.mightContain(userName)) {
+            return false;
+        }
         try {
             Optional<Member> member = memberDAO.getMemberByUserName(userName);
             return member.isPresent();
@@ -60,7 +100,10 @@ public class MemberService {
         }
         try {
             validateMember(member);
+            hashPassword(member);
             memberDAO.addMember(member);
+            userNameFilter.add(member.getUserName());
+            emailFilter.add(member.getEmail());
             logger.info("Member registered successfully: {}", member);
         } catch (IllegalArgumentException e) {
             logger.error("Validation failed for member: {}", e.getMessage());
@@ -79,7 +122,10 @@ public class MemberService {
         }
         try {
             validateMember(member);
+            hashPassword(member);
             memberDAO.updateMember(member);
+            userNameFilter.add(member.getUserName());
+            emailFilter.add(member.getEmail());
             logger.info("Member updated successfully: {}", member);
         } catch (Exception e) {
             logger.error("Error updating member: {}", member, e);
@@ -107,6 +153,23 @@ public class MemberService {
         }
     }
 
+    // One round trip per chunk of IDs instead of one per member; cached members are not fetched again
+    public Map<Integer, Member> getMembersByIds(Collection<Integer> memberIds) {
+        try {
+            Map<Integer, Member> members = memberDAO.getMembersByIds(memberIds);
+            if (members.size() < memberIds.size()) {
+                logger.debug("Found {} of {} requested members", members.size(), memberIds.size());
+            }
+            return members;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid member IDs: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error retrieving members by ID", e);
+            throw new RuntimeException("Failed to retrieve members", e);
+        }
+    }
+
     // Delete a member by ID
     public boolean deleteMember(int memberId) {
         if (memberId <= 0) {
@@ -139,6 +202,24 @@ public class MemberService {
         }
     }
 
+    // Retrieve the page of members that follows the given member ID
+    public List<Member> getMembersPage(int afterMemberId, int pageSize) {
+        try {
+            return memberDAO.getMembersPage(afterMemberId, pageSize);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid page request: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error retrieving members after ID: {}", afterMemberId, e);
+            throw new RuntimeException("Failed to retrieve page of members", e);
+        }
+    }
+
+    // Stream every member without loading the table into memory; close the stream when done
+    public Stream<Member> streamAllMembers() {
+        return memberDAO.streamAllMembers();
+    }
+
     public List<Member> getActiveMembers() {
         try {
             List<Member> members = memberDAO.getActiveMembers();
@@ -151,6 +232,9 @@ public class MemberService {
     }
 
     public  boolean isEmailExists(String email) {
+        if (!emailFilter.mightContain(email)) {
+            return false;
+        }
         return memberDAO.getMemberByEmail(email).isPresent();
     }
     public boolean deactivateMember(int memberId) {
@@ -0,0 +1,197 @@
+package com.library.management.service;
+
+import com.library.management.entity.OpenLoan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of open loans ordered by due date, so the overdue list and "due in the next N
+ * days" are range reads over day buckets that touch only the k loans returned, instead of a join
+ * over the loan table.
+ * <p>
+ * The index is seeded once from a streaming scan and kept current by {@link #track} and
+ * {@link #release}. A background tick advances the date each minute; when the day changes, every
+ * loan that has just passed its due date is handed to the overdue listeners exactly once. Loans
+ * that were already overdue when the index was seeded do not produce events.
+ */
+public class OverdueEngine implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueEngine.class);
+    private static final long TICK_SECONDS = 60;
+
+    private final Clock clock;
+    // due date -> borrow ID -> loan
+    private final NavigableMap<LocalDate, Map<Integer, OpenLoan>> byDueDate = new TreeMap<>();
+    private final Map<Integer, OpenLoan> byBorrowId = new HashMap<>();
+    private final List<Consumer<OpenLoan>> listeners = new CopyOnWriteArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LocalDate watermark; // loans due before this date have already been reported
+    private ScheduledExecutorService ticker;
+
+    public OverdueEngine() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public OverdueEngine(Clock clock) {
+        this.clock = clock;
+        this.watermark = LocalDate.now(clock);
+    }
+
+    // Replaces the index with the given loans; the stream is consumed but not closed
+    public void seed(Stream<OpenLoan> loans) {
+        lock.writeLock().lock();
+        try {
+            byDueDate.clear();
+            byBorrowId.clear();
+            loans.forEach(this::trackUnlocked);
+            watermark = LocalDate.now(clock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void track(OpenLoan loan) {
+        lock.writeLock().lock();
+        try {
+            trackUnlocked(loan);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(int borrowId) {
+        lock.writeLock().lock();
+        try {
+            OpenLoan loan = byBorrowId.remove(borrowId);
+            if (loan != null) {
+                Map<Integer, OpenLoan> bucket = byDueDate.get(loan.dueDate());
+                bucket.remove(borrowId);
+                if (bucket.isEmpty()) {
+                    byDueDate.remove(loan.dueDate());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Loans due before today, oldest due date first
+    public List<OpenLoan> overdue() {
+        return collect(byDueDate.headMap(LocalDate.now(clock), false));
+    }
+
+    // Loans not yet overdue that fall due between today and today + days, inclusive
+    public List<OpenLoan> dueWithin(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("Days cannot be negative");
+        }
+        LocalDate today = LocalDate.now(clock);
+        return collect(byDueDate.subMap(today, true, today.plusDays(days), true));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byBorrowId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addListener(Consumer<OpenLoan> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overdue-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, TICK_SECONDS, TICK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // Reports loans that became overdue since the last call; a no-op until the date changes
+    public void advance() {
+        LocalDate today = LocalDate.now(clock);
+        List<OpenLoan> newlyOverdue;
+        lock.writeLock().lock();
+        try {
+            if (!today.isAfter(watermark)) {
+                return;
+            }
+            newlyOverdue = collectUnlocked(byDueDate.subMap(watermark, true, today, false));
+            watermark = today;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Listeners run outside the lock so they may query the engine
+        for (OpenLoan loan : newlyOverdue) {
+            for (Consumer<OpenLoan> listener : listeners) {
+                try {
+                    listener.accept(loan);
+                } catch (RuntimeException e) {
+                    logger.error("Overdue listener failed for borrow ID {}", loan.borrowId(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    private void trackUnlocked(OpenLoan loan) {
+        OpenLoan previous = byBorrowId.put(loan.borrowId(), loan);
+        if (previous != null && !previous.dueDate().equals(loan.dueDate())) {
+            Map<Integer, OpenLoan> bucket = byDueDate.get(previous.dueDate());
+            bucket.remove(loan.borrowId());
+            if (bucket.isEmpty()) {
+                byDueDate.remove(previous.dueDate());
+            }
+        }
+        byDueDate.computeIfAbsent(loan.dueDate(), date -> new LinkedHashMap<>()).put(loan.borrowId(), loan);
+    }
+
+    private List<OpenLoan> collect(NavigableMap<LocalDate, Map<Integer, OpenLoan>> range) {
+        lock.readLock().lock();
+        try {
+            return collectUnlocked(range);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<OpenLoan> collectUnlocked(NavigableMap<LocalDate, Map<Integer, OpenLoan>> range) {
+        List<OpenLoan> loans = new ArrayList<>();
+        for (Map<Integer, OpenLoan> bucket : range.values()) {
+            loans.addAll(bucket.values());
+        }
+        return loans;
+    }
+}
@@ -0,0 +1,146 @@
+package com.library.management.service;
+
+import com.library.management.util.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing and verification on a small dedicated pool with a bounded queue, so a
+ * burst of logins can use at most {@code threads} cores for key stretching and excess requests
+ * are turned away instead of piling up. Configured through PASSWORD_HASH_ITERATIONS,
+ * PASSWORD_HASH_THREADS and PASSWORD_HASH_QUEUE.
+ */
+public class PasswordHashingService implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+    private static final int DEFAULT_ITERATIONS = 210_000;
+    private static final int DEFAULT_QUEUE = 64;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final PasswordHasher hasher;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    public PasswordHashingService() {
+        this(intFromEnvironment("PASSWORD_HASH_ITERATIONS", DEFAULT_ITERATIONS),
+                intFromEnvironment("PASSWORD_HASH_THREADS", Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+                intFromEnvironment("PASSWORD_HASH_QUEUE", DEFAULT_QUEUE));
+    }
+
+    public PasswordHashingService(int iterations, int threads, int queueCapacity) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Threads and queue capacity must be positive");
+        }
+        this.hasher = new PasswordHasher(iterations);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        logger.info("Password hashing: PBKDF2 with {} iterations on {} threads, queue {}", iterations, threads, queueCapacity);
+    }
+
+    public String hash(String password) {
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        return submit(() -> hasher.hash(password));
+    }
+
+    // Throws RejectedExecutionException when the pool is too busy to check the password in time,
+    // so callers can tell overload apart from a wrong password
+    public boolean verify(String password, String storedPassword) {
+        return submit(() -> hasher.verify(password, storedPassword));
+    }
+
+    public boolean needsRehash(String storedPassword) {
+        return hasher.needsRehash(storedPassword);
+    }
+
+    public boolean isHashed(String password) {
+        return PasswordHasher.isHash(password);
+    }
+
+    public int queueDepth() { return executor.getQueue().size(); }
+    public int activeCount() { return executor.getActiveCount(); }
+    public long completedCount() { return completed.sum(); }
+    public long rejectedCount() { return rejected.sum(); }
+    public long maxLatencyMillis() { return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()); }
+
+    public double averageLatencyMillis() {
+        long count = completed.sum();
+        return count == 0 ? 0 : totalLatencyNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public void logStats() {
+        logger.info("Password hashing stats: completed={}, rejected={}, queueDepth={}, active={}, avgLatency={} ms, maxLatency={} ms",
+                completedCount(), rejectedCount(), queueDepth(), activeCount(),
+                String.format("%.1f", averageLatencyMillis()), maxLatencyMillis());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // Latency is measured from submission, so it includes time spent waiting in the queue
+    private <T> T submit(Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing pool is saturated (queue depth " + queueDepth() + ")", e);
+        }
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            if (future.isDone() && !future.isCancelled()) {
+                long latency = System.nanoTime() - submitted;
+                completed.increment();
+                totalLatencyNanos.add(latency);
+                maxLatencyNanos.accumulate(latency);
+            }
+        }
+    }
+
+    private static int intFromEnvironment(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.library.management.service;
+
+import com.library.management.entity.BorrowEvent;
+import com.library.management.util.CountMinSketch;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Most-borrowed books over sliding windows, kept in memory so "what's trending" never needs a
+ * GROUP BY over the loan table.
+ * <p>
+ * Each window is a ring of time buckets. Every bucket holds a count-min sketch of the borrows in
+ * it, and the window keeps the sum of its live buckets, so an expiring bucket is subtracted in one
+ * pass and a book's count in the window is one sketch lookup. Alongside the sketch each window keeps
+ * a few times {@link #MAX_LIMIT} candidate books with the highest estimates; a query ranks only
+ * those, so it costs O(K log K) whatever the size of the catalogue. Counts are estimates that can
+ * run slightly high, and a book that drops out of the candidates is only reconsidered when it is
+ * borrowed again.
+ */
+public class PopularityService {
+
+    public static final int MAX_LIMIT = 50;
+    private static final int CANDIDATES = 4 * MAX_LIMIT;
+    // Overcounts by more than e/4096 (about 0.07%) of the window's borrows with probability under e^-4
+    private static final int SKETCH_WIDTH = 4096;
+    private static final int SKETCH_DEPTH = 4;
+
+    public enum Window {
+        DAY(Duration.ofHours(1), 24),
+        WEEK(Duration.ofDays(1), 7),
+        MONTH(Duration.ofDays(1), 30);
+
+        private final long bucketMillis;
+        private final int buckets;
+
+        Window(Duration bucket, int buckets) {
+            this.bucketMillis = bucket.toMillis();
+            this.buckets = buckets;
+        }
+
+        public Duration length() {
+            return Duration.ofMillis(bucketMillis * buckets);
+        }
+    }
+
+    public record Ranked(int bookId, long borrows) {
+    }
+
+    private final Clock clock;
+    private final Map<Window, SlidingWindow> windows = new EnumMap<>(Window.class);
+
+    public PopularityService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public PopularityService(Clock clock) {
+        this.clock = clock;
+        for (Window window : Window.values()) {
+            windows.put(window, new SlidingWindow(window));
+        }
+    }
+
+    public void record(int bookId) {
+        record(bookId, clock.instant());
+    }
+
+    public void record(int bookId, Instant borrowedAt) {
+        long now = localMillis(clock.instant());
+        for (SlidingWindow window : windows.values()) {
+            window.add(bookId, localMillis(borrowedAt), now);
+        }
+    }
+
+    // Replaces the counts with the given loans, each counted at the start of its borrow date; the stream
+    // is consumed but not closed. Only today's loans reach the DAY window, as the time of day is not stored.
+    public void seed(Stream<BorrowEvent> borrows) {
+        windows.values().forEach(SlidingWindow::clear);
+        borrows.forEach(borrow -> record(borrow.bookId(), borrow.borrowDate().atStartOfDay(clock.getZone()).toInstant()));
+    }
+
+    // The most borrowed books in the window, most borrowed first, at most limit of them
+    public List<Ranked> top(Window window, int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return windows.get(window).top(limit, localMillis(clock.instant()));
+    }
+
+    // Buckets are cut on the clock's local time, so day buckets start at local midnight and a loan
+    // seeded at the start of its borrow date lands in that date's bucket
+    private long localMillis(Instant instant) {
+        return instant.toEpochMilli() + clock.getZone().getRules().getOffset(instant).getTotalSeconds() * 1000L;
+    }
+
+    private static final class SlidingWindow {
+        private final Window window;
+        private final CountMinSketch total = new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH);
+        private final CountMinSketch[] buckets;
+        private final Map<Integer, Integer> candidates = new HashMap<>(); // book ID -> estimate
+        // At most the lowest candidate estimate; estimates only grow between advances, so it stays a bound
+        private int weakestBound;
+        // Not synchronized, so a borrow on a virtual thread never pins its carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private long currentBucket = Long.MIN_VALUE;
+
+        SlidingWindow(Window window) {
+            this.window = window;
+            this.buckets = new CountMinSketch[window.buckets];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH);
+            }
+        }
+
+        void add(int bookId, long atMillis, long nowMillis) {
+            lock.lock();
+            try {
+                advance(nowMillis);
+                // A borrow stamped ahead of the clock counts now; one older than the window is ignored
+                long bucket = Math.min(Math.floorDiv(atMillis, window.bucketMillis), currentBucket);
+                if (bucket <= currentBucket - window.buckets) {
+                    return;
+                }
+                buckets[Math.floorMod(bucket, window.buckets)].add(bookId, 1);
+                total.add(bookId, 1);
+                offer(bookId, total.estimate(bookId));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<Ranked> top(int limit, long nowMillis) {
+            lock.lock();
+            try {
+                advance(nowMillis);
+                // Min-heap of the best limit candidates seen so far
+                PriorityQueue<Map.Entry<Integer, Integer>> best = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+                for (Map.Entry<Integer, Integer> candidate : candidates.entrySet()) {
+                    best.offer(candidate);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+                List<Ranked> ranked = new ArrayList<>(best.size());
+                for (Map.Entry<Integer, Integer> entry : best) {
+                    ranked.add(new Ranked(entry.getKey(), entry.getValue()));
+                }
+                ranked.sort(Comparator.comparingLong(Ranked::borrows).reversed().thenComparingInt(Ranked::bookId));
+                return ranked;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                for (CountMinSketch bucket : buckets) {
+                    bucket.clear();
+                }
+                total.clear();
+                candidates.clear();
+                weakestBound = 0;
+                currentBucket = Long.MIN_VALUE;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Moves the window up to now, dropping the buckets that fall out of it
+        private void advance(long nowMillis) {
+            long nowBucket = Math.floorDiv(nowMillis, window.bucketMillis);
+            if (nowBucket <= currentBucket) {
+                return;
+            }
+            if (currentBucket == Long.MIN_VALUE || nowBucket - currentBucket >= window.buckets) {
+                for (CountMinSketch bucket : buckets) {
+                    bucket.clear();
+                }
+                total.clear();
+                candidates.clear();
+            } else {
+                for (long expired = currentBucket + 1; expired <= nowBucket; expired++) {
+                    CountMinSketch bucket = buckets[Math.floorMod(expired, window.buckets)];
+                    total.subtractAll(bucket);
+                    bucket.clear();
+                }
+                candidates.replaceAll((bookId, estimate) -> total.estimate(bookId));
+                candidates.values().removeIf(estimate -> estimate <= 0);
+            }
+            weakestBound = 0;
+            currentBucket = nowBucket;
+        }
+
+        private void offer(int bookId, int estimate) {
+            if (candidates.size() < CANDIDATES || candidates.containsKey(bookId)) {
+                candidates.put(bookId, estimate);
+                return;
+            }
+            // Most borrows are of books far down the list; skip the scan when none can be beaten
+            if (estimate <= weakestBound) {
+                return;
+            }
+            Map.Entry<Integer, Integer> weakest = null;
+            for (Map.Entry<Integer, Integer> candidate : candidates.entrySet()) {
+                if (weakest == null || candidate.getValue() < weakest.getValue()) {
+                    weakest = candidate;
+                }
+            }
+            weakestBound = weakest.getValue();
+            if (estimate > weakestBound) {
+                candidates.remove(weakest.getKey());
+                candidates.put(bookId, estimate);
+            }
+        }
+    }
+}
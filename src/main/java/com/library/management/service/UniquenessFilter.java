@@ -0,0 +1,76 @@
+package com.library.management.service;
+
+import com.library.management.util.BloomFilter;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Answers "is this value definitely unused?" from memory for sign-up uniqueness checks.
+ * Values are folded to lower case without accents or trailing spaces first, so a value MySQL's
+ * case- and accent-insensitive collations would treat as equal always hits the filter and falls
+ * through to the database. Until a {@link #beginRebuild} / {@link #endRebuild} cycle first
+ * completes, every value counts as a possible hit. The database's unique constraints stay the
+ * final guard, e.g. against sign-ups made by another process since the last rebuild.
+ */
+class UniquenessFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final long CAPACITY = 1_000_000; // ~1.2 MB per filter at 1% false positives
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    // Start seeding a fresh filter from a full scan; values added meanwhile go into both filters
+    void beginRebuild() {
+        building = new BloomFilter(CAPACITY, FALSE_POSITIVE_RATE);
+    }
+
+    void seed(String value) {
+        BloomFilter next = building;
+        if (next == null) {
+            throw new IllegalStateException("No rebuild in progress");
+        }
+        if (value != null) {
+            next.put(normalize(value));
+        }
+    }
+
+    // Publish the seeded filter, or drop it if the scan failed
+    void endRebuild(boolean completed) {
+        if (completed) {
+            current = building;
+        }
+        building = null;
+    }
+
+    void add(String value) {
+        if (value == null) {
+            return;
+        }
+        String key = normalize(value);
+        // Read "building" first: if it is already null, any rebuild has published its filter as "current"
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(key);
+        }
+    }
+
+    boolean mightContain(String value) {
+        BloomFilter filter = current;
+        return filter == null || value == null || filter.mightContain(normalize(value));
+    }
+
+    boolean isReady() {
+        return current != null;
+    }
+
+    private static String normalize(String value) {
+        String folded = Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return folded.toLowerCase(Locale.ROOT).stripTrailing();
+    }
+}
@@ -0,0 +1,83 @@
+package com.library.management.session;
+
+import com.library.management.dao.EntityColumn;
+import com.library.management.entity.TrackedEntity;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Guards an edit of a tracked entity so it can be undone. Which columns changed is read from the
+ * entity's own dirty set, the same one the DAO update methods write from; the tracker only keeps
+ * the values as of {@link #markClean()} so {@link #revert()} can put them back. Callers that modify
+ * the entity should hold the tracker's lock from the first setter to {@link #markClean()} or
+ * {@link #revert()}.
+ */
+public final class ChangeTracker<T extends TrackedEntity, C extends Enum<C> & EntityColumn<T>> {
+
+    private final T entity;
+    private final Class<C> columnType;
+    private final Map<C, Object> snapshot;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ChangeTracker(T entity, Class<C> columnType) {
+        this.entity = Objects.requireNonNull(entity, "entity");
+        this.columnType = columnType;
+        this.snapshot = new EnumMap<>(columnType);
+        markClean();
+    }
+
+    public T entity() {
+        return entity;
+    }
+
+    public ReentrantLock lock() {
+        return lock;
+    }
+
+    Class<C> columnType() {
+        return columnType;
+    }
+
+    public EnumSet<C> changedColumns() {
+        lock.lock();
+        try {
+            return EntityColumn.forProperties(columnType, entity.getChangedProperties());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isDirty() {
+        return !changedColumns().isEmpty();
+    }
+
+    // Call after the changes were written; the DAO has already cleared the entity's dirty set
+    public void markClean() {
+        lock.lock();
+        try {
+            for (C column : columnType.getEnumConstants()) {
+                snapshot.put(column, column.valueOf(entity));
+            }
+            entity.markClean();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Call after a failed write to put the entity back as it was at the last markClean
+    public void revert() {
+        lock.lock();
+        try {
+            for (C column : changedColumns()) {
+                column.set(entity, snapshot.get(column));
+            }
+            entity.markClean();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
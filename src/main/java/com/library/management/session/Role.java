@@ -0,0 +1,7 @@
+package com.library.management.session;
+
+public enum Role {
+    MEMBER,
+    LIBRARIAN,
+    ADMIN
+}
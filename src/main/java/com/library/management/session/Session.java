@@ -0,0 +1,58 @@
+package com.library.management.session;
+
+import com.library.management.dao.EntityColumn;
+import com.library.management.entity.TrackedEntity;
+
+/**
+ * A logged-in user: the entity read at login, kept for the whole session so actions do not fetch
+ * it again, and a {@link ChangeTracker} over its columns when it is editable.
+ */
+public final class Session {
+
+    private final String token;
+    private final Role role;
+    private final int userId;
+    private final Object user;
+    private final ChangeTracker<?, ?> tracker; // null when the user's fields are not tracked
+    private final long createdAtMillis;
+    private volatile long lastAccessMillis;
+
+    Session(String token, Role role, int userId, Object user, ChangeTracker<?, ?> tracker, long nowMillis) {
+        this.token = token;
+        this.role = role;
+        this.userId = userId;
+        this.user = user;
+        this.tracker = tracker;
+        this.createdAtMillis = nowMillis;
+        this.lastAccessMillis = nowMillis;
+    }
+
+    public String token() { return token; }
+    public Role role() { return role; }
+    public int userId() { return userId; }
+    public long createdAtMillis() { return createdAtMillis; }
+    public long lastAccessMillis() { return lastAccessMillis; }
+
+    public boolean is(Role role) {
+        return this.role == role;
+    }
+
+    public <T> T user(Class<T> type) {
+        if (!type.isInstance(user)) {
+            throw new IllegalStateException("Session user is a " + role + ", not a " + type.getSimpleName());
+        }
+        return type.cast(user);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends TrackedEntity, C extends Enum<C> & EntityColumn<T>> ChangeTracker<T, C> tracker(Class<C> columnType) {
+        if (tracker == null || tracker.columnType() != columnType) {
+            throw new IllegalStateException("Session of a " + role + " does not track " + columnType.getSimpleName());
+        }
+        return (ChangeTracker<T, C>) tracker;
+    }
+
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+}
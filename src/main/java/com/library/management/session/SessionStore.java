@@ -0,0 +1,176 @@
+package com.library.management.session;
+
+import com.library.management.dao.LibrarianColumn;
+import com.library.management.dao.MemberColumn;
+import com.library.management.entity.Admin;
+import com.library.management.entity.Librarian;
+import com.library.management.entity.Member;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory sessions keyed by a random token. A session expires after it has been idle for the
+ * timeout (SESSION_IDLE_MINUTES, 30 by default); expired sessions are dropped when next looked up
+ * and by a background sweep once a minute after {@link #start()}.
+ */
+public class SessionStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionStore.class);
+    private static final long DEFAULT_IDLE_MINUTES = 30;
+    private static final long SWEEP_SECONDS = 60;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long idleTimeoutMillis;
+    private final Clock clock;
+    private ScheduledExecutorService sweeper;
+
+    public SessionStore() {
+        this(Duration.ofMinutes(idleMinutesFromEnvironment()), Clock.systemUTC());
+    }
+
+    public SessionStore(Duration idleTimeout, Clock clock) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Session idle timeout must be positive");
+        }
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.clock = clock;
+    }
+
+    public Session createMemberSession(Member member) {
+        return create(Role.MEMBER, member.getMemberId(), member, new ChangeTracker<>(member, MemberColumn.class));
+    }
+
+    public Session createLibrarianSession(Librarian librarian) {
+        return create(Role.LIBRARIAN, librarian.getLibrarianId(), librarian, new ChangeTracker<>(librarian, LibrarianColumn.class));
+    }
+
+    public Session createAdminSession(Admin admin) {
+        return create(Role.ADMIN, admin.getAdminId(), admin, null);
+    }
+
+    private Session create(Role role, int userId, Object user, ChangeTracker<?, ?> tracker) {
+        Session session = new Session(newToken(), role, userId, user, tracker, clock.millis());
+        sessions.put(session.token(), session);
+        logger.debug("Session opened for {} ID {}", role, userId);
+        return session;
+    }
+
+    // Looks up a live session and counts the lookup as activity
+    public Optional<Session> get(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        long now = clock.millis();
+        if (isExpired(session, now)) {
+            sessions.remove(token, session);
+            return Optional.empty();
+        }
+        session.touch(now);
+        return Optional.of(session);
+    }
+
+    public void invalidate(String token) {
+        Session session = sessions.remove(token);
+        if (session != null) {
+            logger.debug("Session closed for {} ID {}", session.role(), session.userId());
+        }
+    }
+
+    // Ends every session of the user, e.g. after the account was deleted or deactivated; returns how many were open
+    public int invalidateUser(Role role, int userId) {
+        int removed = 0;
+        Iterator<Session> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+            if (session.is(role) && session.userId() == userId) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            logger.info("Closed {} sessions of {} ID {}", removed, role, userId);
+        }
+        return removed;
+    }
+
+    // Drops expired sessions and returns how many were removed
+    public int sweep() {
+        long now = clock.millis();
+        int removed = 0;
+        Iterator<Session> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            logger.debug("Expired {} idle sessions", removed);
+        }
+        return removed;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public synchronized void start() {
+        if (sweeper != null) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleAtFixedRate(this::sweep, SWEEP_SECONDS, SWEEP_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+        sessions.clear();
+    }
+
+    private boolean isExpired(Session session, long now) {
+        return now - session.lastAccessMillis() >= idleTimeoutMillis;
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static long idleMinutesFromEnvironment() {
+        String value = System.getenv("SESSION_IDLE_MINUTES");
+        if (value == null || value.isBlank()) {
+            return DEFAULT_IDLE_MINUTES;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid SESSION_IDLE_MINUTES: " + value, e);
+        }
+    }
+}
@@ -1,23 +1,29 @@
 package com.library.management.ui;
 
+import com.library.management.dao.LibrarianColumn;
 import com.library.management.entity.Librarian;
 import com.library.management.service.LibrarianService;
+import com.library.management.session.ChangeTracker;
+import com.library.management.session.Role;
+import com.library.management.session.SessionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.InputMismatchException;
-import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 
 public class AdminDashboard {
     private static final Logger logger = LoggerFactory.getLogger(AdminDashboard.class);
     private final LibrarianService librarianService;
+    private final SessionStore sessionStore;
     private final Scanner scanner;
+    private static final int PAGE_SIZE = 20;
 
     // Constructor
-    public AdminDashboard(LibrarianService librarianService) {
+    public AdminDashboard(LibrarianService librarianService, SessionStore sessionStore) {
         this.librarianService = librarianService;
+        this.sessionStore = sessionStore;
         this.scanner = new Scanner(System.in);
     }
 
@@ -113,6 +119,7 @@ public class AdminDashboard {
 
             if (optionalLibrarian.isPresent()) {
                 Librarian librarian = optionalLibrarian.get();
+                ChangeTracker<Librarian, LibrarianColumn> tracker = new ChangeTracker<>(librarian, LibrarianColumn.class);
 
                 String newUserName = getStringInput("Enter new username (or press Enter to keep current):");
                 if (!newUserName.isEmpty()) librarian.setUserName(newUserName);
@@ -124,15 +131,18 @@ public class AdminDashboard {
                 if (!newEmail.isEmpty()) {
                     if (!isValidEmail(newEmail)) {
                         System.out.println("Invalid email format. Please enter a valid email.");
+                        tracker.revert();
                         return;
                     }
                     if (librarianService.isEmailExists(newEmail)) {
                         System.out.println("Email already exists. Please try another.");
+                        tracker.revert();
                         return;
                     }
                     librarian.setEmail(newEmail);
                 }
 
+                // Only the columns that changed are written
                 librarianService.updateLibrarian(librarian);
                 System.out.println("Librarian information updated successfully!");
             } else {
@@ -160,6 +170,7 @@ public class AdminDashboard {
             if ("yes".equals(confirmation)) {
                 boolean success = librarianService.deleteLibrarian(librarianId);
                 if (success) {
+                    sessionStore.invalidateUser(Role.LIBRARIAN, librarianId);
                     System.out.println("Librarian deleted successfully!");
                 } else {
                     System.out.println("Librarian not found or could not be deleted.");
@@ -178,18 +189,14 @@ public class AdminDashboard {
     // View All Librarians
     private void viewAllLibrarians() {
         try {
-            List<Librarian> librarians = librarianService.getAllLibrarians();
-
-            if (librarians.isEmpty()) {
+            boolean found = PagedListing.show(scanner, PAGE_SIZE, "Librarians List:", librarianService::getLibrariansPage,
+                    Librarian::getLibrarianId, librarian ->
+                            System.out.printf("ID: %d, Email: %s, Username: %s%n",
+                                    librarian.getLibrarianId(),
+                                    librarian.getEmail(),
+                                    librarian.getUserName()));
+            if (!found) {
                 System.out.println("No librarians found.");
-            } else {
-                System.out.println("Librarians List:");
-                librarians.forEach(librarian ->
-                        System.out.printf("ID: %d, Email: %s, Username: %s%n",
-                                librarian.getLibrarianId(),
-                                librarian.getEmail(),
-                                librarian.getUserName())
-                );
             }
         } catch (Exception e) {
             logger.error("Error while retrieving librarians: {}", e.getMessage());
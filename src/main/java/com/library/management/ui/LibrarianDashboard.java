@@ -1,14 +1,29 @@
 package com.library.management.ui;
 
+import com.library.management.dao.LibrarianColumn;
+import com.library.management.dao.MemberColumn;
 import com.library.management.entity.Book;
+import com.library.management.entity.BookBorrow;
 import com.library.management.entity.Librarian;
 import com.library.management.entity.Member;
+import com.library.management.entity.PopularBook;
+import com.library.management.service.AsyncCirculationService;
+import com.library.management.service.AsyncMemberService;
 import com.library.management.service.BookService;
+import com.library.management.service.CirculationService;
+import com.library.management.service.Futures;
 import com.library.management.service.LibrarianService;
 import com.library.management.service.MemberService;
+import com.library.management.service.PopularityService;
+import com.library.management.session.ChangeTracker;
+import com.library.management.session.Role;
+import com.library.management.session.Session;
+import com.library.management.session.SessionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Optional;
@@ -19,14 +34,28 @@ public class LibrarianDashboard {
     private final BookService bookService;
     private final MemberService memberService;
     private final LibrarianService librarianService;
-    private final Librarian loggedInLibrarian;
+    private final CirculationService circulationService;
+    private final AsyncMemberService asyncMemberService;
+    private final AsyncCirculationService asyncCirculationService;
+    private final Session session;
+    private final SessionStore sessionStore;
+    private final Librarian loggedInLibrarian; // The session's copy
     private final Scanner scanner;
+    private static final int PAGE_SIZE = 20;
+    private static final int TRENDING_LIMIT = 10;
+    private static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(10);
 
-    public LibrarianDashboard(BookService bookService, MemberService memberService, LibrarianService librarianService, Librarian loggedInLibrarian) {
+    public LibrarianDashboard(BookService bookService, MemberService memberService, LibrarianService librarianService,
+                              CirculationService circulationService, Session session, SessionStore sessionStore) {
         this.bookService = bookService;
         this.memberService = memberService;
         this.librarianService = librarianService;
-        this.loggedInLibrarian = loggedInLibrarian;
+        this.circulationService = circulationService;
+        this.asyncMemberService = new AsyncMemberService(memberService);
+        this.asyncCirculationService = new AsyncCirculationService(circulationService);
+        this.session = session;
+        this.sessionStore = sessionStore;
+        this.loggedInLibrarian = session.user(Librarian.class);
         this.scanner = new Scanner(System.in);
     }
 
@@ -64,6 +93,8 @@ public class LibrarianDashboard {
     }
 
     private void updateLibrarianInformation() {
+        ChangeTracker<Librarian, LibrarianColumn> tracker = session.tracker(LibrarianColumn.class);
+        tracker.lock().lock();
         try {
             System.out.println("Updating information for Librarian: " + loggedInLibrarian.getUserName());
             System.out.print("Enter new Username (current: " + loggedInLibrarian.getUserName() + "): ");
@@ -81,10 +112,18 @@ public class LibrarianDashboard {
             if (!email.isEmpty()) {
                 loggedInLibrarian.setEmail(email);
             }
+            if (!tracker.isDirty()) {
+                System.out.println("Nothing to update.");
+                return;
+            }
             librarianService.updateLibrarian(loggedInLibrarian);
+            tracker.markClean();
             System.out.println("Librarian information updated successfully!");
         } catch (Exception e) {
+            tracker.revert();
             System.out.println("An error occurred while updating the librarian. Please try again.");
+        } finally {
+            tracker.lock().unlock();
         }
     }
 
@@ -92,7 +131,7 @@ public class LibrarianDashboard {
         while (true) {
             try {
                 displayBookManagementMenu();
-                int choice = getValidChoice(8);
+                int choice = getValidChoice(10);
 
                 switch (choice) {
                     case 1 -> addBook();
@@ -102,7 +141,9 @@ public class LibrarianDashboard {
                     case 5 -> viewAllBooks();
                     case 6 -> searchBooks();
                     case 7 -> getOverdueBooks();
-                    case 8 -> {
+                    case 8 -> getBooksDueSoon();
+                    case 9 -> getTrendingBooks();
+                    case 10 -> {
                         return; // Back to Dashboard
                     }
                     default -> System.out.println("Invalid choice! Please try again.");
@@ -122,7 +163,9 @@ public class LibrarianDashboard {
         System.out.println("5. View All Books");
         System.out.println("6. Search Books");
         System.out.println("7. Get Overdue Books");
-        System.out.println("8. Back to Dashboard");
+        System.out.println("8. Get Books Due Soon");
+        System.out.println("9. Trending Books");
+        System.out.println("10. Back to Dashboard");
         System.out.print("Enter your choice: ");
     }
 
@@ -218,15 +261,11 @@ public class LibrarianDashboard {
 
     private void viewAllBooks() {
         try {
-            List<Book> books = bookService.getAllBooks();
-            if (books.isEmpty()) {
+            boolean found = PagedListing.show(scanner, PAGE_SIZE, "Books:", bookService::getBooksPage, Book::getBookId, book ->
+                    System.out.println(String.format("ID: %d, Title: %s, Author: %s, ISBN: %s, Quantity: %d",
+                            book.getBookId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getQuantity())));
+            if (!found) {
                 System.out.println("No books found.");
-            } else {
-                System.out.println("Books:");
-                books.forEach(book ->
-                        System.out.println(String.format("ID: %d, Title: %s, Author: %s, ISBN: %s, Quantity: %d",
-                                book.getBookId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getQuantity()))
-                );
             }
         } catch (Exception e) {
             logger.error("Error while retrieving books: {}", e.getMessage());
@@ -281,7 +320,7 @@ public class LibrarianDashboard {
 
     private void getOverdueBooks() {
         try {
-            List<Book> overdueBooks = bookService.getOverdueBooks();
+            List<Book> overdueBooks = circulationService.getOverdueBooks();
             if (overdueBooks.isEmpty()) {
                 System.out.println("No overdue books.");
             } else {
@@ -293,6 +332,45 @@ public class LibrarianDashboard {
         }
     }
 
+    private void getTrendingBooks() {
+        try {
+            System.out.println("1. Today  2. This Week  3. This Month");
+            System.out.print("Choose a period: ");
+            PopularityService.Window window = PopularityService.Window.values()[getValidChoice(3) - 1];
+            List<PopularBook> trending = circulationService.getTrendingBooks(window, TRENDING_LIMIT);
+            if (trending.isEmpty()) {
+                System.out.println("No books borrowed in this period.");
+            } else {
+                System.out.println("Trending Books:");
+                for (PopularBook popular : trending) {
+                    Book book = popular.book();
+                    System.out.println(String.format("Borrows: %d, ID: %d, Title: %s, Author: %s, Copies: %d",
+                            popular.borrows(), book.getBookId(), book.getTitle(), book.getAuthor(), book.getQuantity()));
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("An error occurred while retrieving trending books: " + e.getMessage());
+        }
+    }
+
+    private void getBooksDueSoon() {
+        try {
+            System.out.print("Enter number of days ahead: ");
+            int days = getValidInt();
+            scanner.nextLine(); // Consume newline
+            List<BookBorrow> dueSoon = circulationService.getLoansDueWithin(days);
+            if (dueSoon.isEmpty()) {
+                System.out.println(String.format("No books due in the next %d days.", days));
+            } else {
+                System.out.println(String.format("Books due in the next %d days:", days));
+                dueSoon.forEach(borrow -> System.out.println(String.format("Due: %s, Book ID: %d, Title: %s, Member ID: %d",
+                        borrow.getDueDate(), borrow.getBook().getBookId(), borrow.getBook().getTitle(), borrow.getMember().getMemberId())));
+            }
+        } catch (Exception e) {
+            System.out.println("An error occurred while retrieving books due soon: " + e.getMessage());
+        }
+    }
+
     private void manageMembers() {
         while (true) {
             try {
@@ -377,6 +455,7 @@ public class LibrarianDashboard {
             Optional<Member> optionalMember = memberService.getMemberById(memberId);
             if (optionalMember.isPresent()) {
                 Member member = optionalMember.get();
+                ChangeTracker<Member, MemberColumn> tracker = new ChangeTracker<>(member, MemberColumn.class);
 
                 System.out.print("Enter new name (leave blank to keep current): ");
                 String newUserName = scanner.nextLine().trim();
@@ -389,10 +468,12 @@ public class LibrarianDashboard {
                 if (!newEmail.isEmpty()) {
                     if (!isValidEmail(newEmail)) {
                         System.out.println("Invalid email format. Please enter a valid email.");
+                        tracker.revert();
                         return;
                     }
                     if (memberService.isEmailExists(newEmail)) {
                         System.out.println("Email already exists. Please try another.");
+                        tracker.revert();
                         return;
                     }
                     member.setEmail(newEmail);
@@ -404,7 +485,12 @@ public class LibrarianDashboard {
                     member.setPassword(newPassword);
                 }
 
-                memberService.updateMember(member);
+                try {
+                    memberService.updateMember(member);
+                } catch (RuntimeException e) {
+                    tracker.revert();
+                    throw e;
+                }
                 System.out.println("Member updated successfully!");
             } else {
                 System.out.println("Member with ID " + memberId + " not found.");
@@ -435,6 +521,7 @@ public class LibrarianDashboard {
                 if ("yes".equals(confirmation)) {
                     boolean success = memberService.deleteMember(memberId);
                     if (success) {
+                        sessionStore.invalidateUser(Role.MEMBER, memberId);
                         System.out.println("Member deleted successfully!");
                     } else {
                         System.out.println("Member not found or could not be deleted.");
@@ -457,12 +544,10 @@ public class LibrarianDashboard {
 
     private void viewAllMembers() {
         try {
-            List<Member> members = memberService.getAllMembers();
-            if (members.isEmpty()) {
+            boolean found = PagedListing.show(scanner, PAGE_SIZE, "Members:", memberService::getMembersPage, Member::getMemberId,
+                    member -> System.out.println(STR."ID: \{member.getMemberId()}, Name: \{member.getUserName()}, Email: \{member.getEmail()}"));
+            if (!found) {
                 System.out.println("No members found.");
-            } else {
-                System.out.println("Members:");
-                members.forEach(member -> System.out.println(STR."ID: \{member.getMemberId()}, Name: \{member.getUserName()}, Email: \{member.getEmail()}"));
             }
         } catch (Exception e) {
             logger.error("Error while retrieving members: {}", e.getMessage());
@@ -475,11 +560,20 @@ public class LibrarianDashboard {
             System.out.print("Enter Member ID: ");
             int memberId = getValidInt();
 
-            Optional<Member> optionalMember = memberService.getMemberById(memberId);
-            if (optionalMember.isPresent()) {
-                Member member = optionalMember.get();
+            // The member and their loans are fetched in parallel; the loans are dropped if there is no member
+            record MemberWithLoans(Optional<Member> member, List<BookBorrow> loans) {}
+            MemberWithLoans result = Futures.await(Futures.both(asyncMemberService.getMemberById(memberId),
+                    asyncCirculationService.getActiveBorrows(memberId), MemberWithLoans::new), LOOKUP_TIMEOUT);
+            if (result.member().isPresent()) {
+                Member member = result.member().get();
                 System.out.println("Member Details:");
                 System.out.println("ID: " + member.getMemberId() + ", Name: " + member.getUserName() + ", Email: " + member.getEmail());
+                LocalDate today = LocalDate.now();
+                System.out.println("Borrowed Books: " + (result.loans().isEmpty() ? "none" : ""));
+                for (BookBorrow loan : result.loans()) {
+                    System.out.println("  " + loan.getBook().getTitle() + " - due " + loan.getDueDate()
+                            + (loan.isOverdue(today) ? " (OVERDUE)" : ""));
+                }
             } else {
                 System.out.println("Member not found.");
             }
@@ -547,6 +641,7 @@ public class LibrarianDashboard {
             if (optionalMember.isPresent()) {
                 Member member = optionalMember.get();
                 memberService.deactivateMember(memberId);
+                sessionStore.invalidateUser(Role.MEMBER, memberId);
                 System.out.println("Member deactivated successfully!");
             } else {
                 System.out.println("Member with ID " + memberId + " not found.");
@@ -1,27 +1,62 @@
 package com.library.management.ui;
 
+import com.library.management.api.ApiServer;
+import com.library.management.dao.ActivityDAOImpl;
+import com.library.management.dao.AdminDAO;
 import com.library.management.dao.AdminDAOImpl;
+import com.library.management.dao.BookBorrowDAOImpl;
+import com.library.management.dao.BookDAO;
 import com.library.management.dao.BookDAOImpl;
+import com.library.management.dao.BookSearchMode;
+import com.library.management.dao.CachingBookDAO;
+import com.library.management.dao.CachingMemberDAO;
+import com.library.management.dao.FineDAOImpl;
+import com.library.management.dao.LibrarianDAO;
 import com.library.management.dao.LibrarianDAOImpl;
+import com.library.management.dao.MemberDAO;
 import com.library.management.dao.MemberDAOImpl;
 
 import com.library.management.entity.Admin;
 import com.library.management.entity.Librarian;
 import com.library.management.entity.Member;
 
+import com.library.management.service.ActivityCounters;
 import com.library.management.service.AuthenticationService;
+import com.library.management.service.BookSearchIndex;
 import com.library.management.service.BookService;
+import com.library.management.service.CirculationService;
+import com.library.management.service.FineAccrualJob;
 import com.library.management.service.LibrarianService;
 import com.library.management.service.MemberService;
+import com.library.management.service.PasswordHashingService;
+import com.library.management.session.Session;
+import com.library.management.session.SessionStore;
 
+import com.library.management.importer.BookRecordReader;
+import com.library.management.importer.BulkBookLoader;
+import com.library.management.importer.CsvBookReader;
+import com.library.management.importer.MarcBookReader;
+import com.library.management.metrics.DaoMetrics;
+import com.library.management.metrics.MeteredDAO;
+import com.library.management.metrics.MetricsServer;
 import com.library.management.util.DatabaseConnection;
+import com.library.management.util.ReadWriteRouter;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.InputMismatchException;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiFunction;
 
 public class MainMenu {
@@ -31,27 +66,87 @@ public class MainMenu {
     private static BookService bookService;
     private static MemberService memberService;
     private static LibrarianService librarianService;
+    private static CirculationService circulationService;
+    private static FineAccrualJob fineAccrualJob;
+    private static ActivityCounters activityCounters;
     private static AuthenticationService authenticationService;
+    private static CachingBookDAO bookCache;
+    private static CachingMemberDAO memberCache;
+    private static PasswordHashingService passwordHashingService;
+    private static DaoMetrics daoMetrics;
+    private static final SessionStore sessionStore = new SessionStore();
+    private static MetricsServer metricsServer;
     private static Object currentUser = null; // Can be a Member, Librarian, or Admin
 
-    static {
+    // Everything the interactive menus and the API use, including the full-table scans that seed the
+    // in-memory indexes; the one-shot --import and --accrue-fines modes build only what they need
+    private static void initializeServices() {
         DataSource dataSource = DatabaseConnection.getDataSource();
+        ReadWriteRouter router = DatabaseConnection.getRouter();
         try {
-            bookService = new BookService(new BookDAOImpl(dataSource));
-            memberService = new MemberService(new MemberDAOImpl(dataSource));
-            librarianService = new LibrarianService(new LibrarianDAOImpl(dataSource));
-            authenticationService = new AuthenticationService(
-                    new MemberDAOImpl(dataSource),
-                    new LibrarianDAOImpl(dataSource),
-                    new AdminDAOImpl(dataSource)
-            );
+            daoMetrics = new DaoMetrics();
+            registerPoolGauges(DatabaseConnection.getPoolMXBean());
+            if (router.hasReplica()) {
+                daoMetrics.registerGauge("library_replica_lag_millis", "Last measured replica lag, -1 if unknown", router::replicaLagMillis);
+            }
+            // The cache sits outside the metered DAO, so the metrics count only calls that reach MySQL
+            memberCache = new CachingMemberDAO(MeteredDAO.wrap(MemberDAO.class, new MemberDAOImpl(router), daoMetrics));
+            LibrarianDAO librarianDAO = MeteredDAO.wrap(LibrarianDAO.class, new LibrarianDAOImpl(router), daoMetrics);
+            AdminDAO adminDAO = MeteredDAO.wrap(AdminDAO.class, new AdminDAOImpl(dataSource), daoMetrics);
+            bookCache = new CachingBookDAO(MeteredDAO.wrap(BookDAO.class, new BookDAOImpl(router, BookSearchMode.fromEnvironment()), daoMetrics));
+            // BOOK_SEARCH_INDEX=false sends searches to MySQL using BOOK_SEARCH_MODE instead of the in-memory index
+            if ("false".equalsIgnoreCase(System.getenv("BOOK_SEARCH_INDEX"))) {
+                bookService = new BookService(bookCache);
+            } else {
+                bookService = new BookService(bookCache, new BookSearchIndex());
+                bookService.rebuildSearchIndex();
+            }
+            passwordHashingService = new PasswordHashingService();
+            memberService = new MemberService(memberCache, passwordHashingService);
+            librarianService = new LibrarianService(librarianDAO, passwordHashingService);
+            memberService.initializeUniquenessFilters();
+            librarianService.initializeUniquenessFilters();
+            activityCounters = new ActivityCounters(new ActivityDAOImpl(router));
+            circulationService = new CirculationService(bookCache, new BookBorrowDAOImpl(router), activityCounters);
+            circulationService.initializeOverdueTracking();
+            circulationService.initializePopularityTracking();
+            fineAccrualJob = new FineAccrualJob(new FineDAOImpl(router));
+            authenticationService = new AuthenticationService(memberCache, librarianDAO, adminDAO, passwordHashingService);
+            // METRICS_PORT serves the metrics over HTTP on localhost; JMX is always on
+            String metricsPort = System.getenv("METRICS_PORT");
+            if (metricsPort != null && !metricsPort.isBlank()) {
+                metricsServer = new MetricsServer(daoMetrics, Integer.parseInt(metricsPort.trim()));
+            }
         } catch (Exception e) {
             logger.error("Error initializing services", e);
             System.exit(1); // Exit if unable to initialize services
         }
     }
 
+    private static void registerPoolGauges(HikariPoolMXBean pool) {
+        daoMetrics.registerGauge("library_pool_active_connections", "Pool connections in use", pool::getActiveConnections);
+        daoMetrics.registerGauge("library_pool_idle_connections", "Idle pool connections", pool::getIdleConnections);
+        daoMetrics.registerGauge("library_pool_total_connections", "Open pool connections", pool::getTotalConnections);
+        daoMetrics.registerGauge("library_pool_pending_threads", "Threads waiting for a pool connection", pool::getThreadsAwaitingConnection);
+    }
+
     public static void main(String[] args) {
+        if (args.length > 0 && "--import".equals(args[0])) {
+            System.exit(runImport(args));
+        }
+        if (args.length > 0 && "--accrue-fines".equals(args[0])) {
+            System.exit(runFineAccrual(args));
+        }
+        initializeServices();
+        if (args.length > 0 && "--serve".equals(args[0])) {
+            runServer(args);
+            return;
+        }
+        // FINE_JOB_TIME=HH:mm accrues fines nightly from this process; run only one such instance
+        fineAccrualJob.startFromEnvironment();
+        activityCounters.startFromEnvironment();
+        // Borrow counts not yet flushed are written on Ctrl+C as well as on a normal exit
+        Runtime.getRuntime().addShutdownHook(new Thread(activityCounters::close, "activity-shutdown"));
         try {
             runApplication();
         } finally {
@@ -59,6 +154,89 @@ public class MainMenu {
         }
     }
 
+    // Usage: --import <file> [--format csv|marc]; the format defaults from the file extension
+    private static int runImport(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: --import <file> [--format csv|marc]");
+            return 2;
+        }
+        Path file = Path.of(args[1]);
+        String format = args.length >= 4 && "--format".equals(args[2]) ? args[3].toLowerCase()
+                : file.toString().toLowerCase().matches(".*\\.(mrc|marc)$") ? "marc" : "csv";
+        try (BookRecordReader reader = "marc".equals(format)
+                ? new MarcBookReader(Files.newInputStream(file))
+                : new CsvBookReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            // The loader reads existing ISBNs itself, so no search index or cache is built
+            BookService importService = new BookService(new BookDAOImpl(DatabaseConnection.getRouter(), BookSearchMode.fromEnvironment()));
+            BulkBookLoader.ImportSummary summary = new BulkBookLoader(importService).load(reader);
+            System.out.printf("Imported %d of %d records (%d invalid, %d duplicates) in %d ms%n",
+                    summary.inserted(), summary.read(), summary.invalid(), summary.duplicates(), summary.elapsedMillis());
+            return 0;
+        } catch (Exception e) {
+            logger.error("Import of {} failed", file, e);
+            System.out.println("Import failed: " + e.getMessage());
+            return 1;
+        } finally {
+            DatabaseConnection.close();
+        }
+    }
+
+    // Usage: --accrue-fines [yyyy-mm-dd]; for cron, defaults to today and resumes an interrupted run
+    private static int runFineAccrual(String[] args) {
+        try (FineAccrualJob job = new FineAccrualJob(new FineDAOImpl(DatabaseConnection.getRouter()))) {
+            LocalDate runDate = args.length >= 2 ? LocalDate.parse(args[1]) : LocalDate.now();
+            FineAccrualJob.RunSummary summary = job.run(runDate);
+            System.out.printf("Fines for %s: %d chunks, %d rows changed in %d ms%s%n", summary.runDate(), summary.chunks(),
+                    summary.rowsChanged(), summary.elapsedMillis(), summary.resumed() ? " (resumed)" : "");
+            return 0;
+        } catch (DateTimeParseException e) {
+            System.out.println("Usage: --accrue-fines [yyyy-mm-dd]");
+            return 2;
+        } catch (Exception e) {
+            logger.error("Fine accrual failed", e);
+            System.out.println("Fine accrual failed: " + e.getMessage());
+            return 1;
+        } finally {
+            DatabaseConnection.close();
+        }
+    }
+
+    // Usage: --serve [port]; the port defaults to API_PORT or 8080. API_HOST sets the bind address
+    // (loopback by default; use 0.0.0.0 behind a TLS proxy to reach desk and kiosk clients)
+    private static void runServer(String[] args) {
+        String configuredPort = System.getenv("API_PORT");
+        String host = System.getenv("API_HOST");
+        try {
+            int port = args.length >= 2 ? Integer.parseInt(args[1])
+                    : configuredPort != null && !configuredPort.isBlank() ? Integer.parseInt(configuredPort.trim()) : 8080;
+            InetSocketAddress address = host == null || host.isBlank()
+                    ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port)
+                    : new InetSocketAddress(host.trim(), port);
+            ApiServer apiServer = new ApiServer(bookService, memberService, librarianService, authenticationService, sessionStore, address);
+            sessionStore.start();
+            fineAccrualJob.startFromEnvironment();
+            activityCounters.startFromEnvironment();
+            // The server's dispatcher thread keeps the JVM alive; Ctrl+C or SIGTERM runs the cleanup
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                apiServer.close();
+                sessionStore.close();
+                logStats();
+                circulationService.shutdown();
+                fineAccrualJob.close();
+                activityCounters.close(); // before the pool closes
+                if (metricsServer != null) {
+                    metricsServer.close();
+                }
+                DatabaseConnection.close();
+            }, "api-shutdown"));
+            System.out.println("Serving the API on port " + apiServer.port() + "; press Ctrl+C to stop.");
+        } catch (Exception e) {
+            logger.error("Could not start the API server", e);
+            System.out.println("Could not start the API server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
     private static void runApplication() {
         boolean continueRunning = true;
         while (continueRunning) {
@@ -97,8 +275,13 @@ public class MainMenu {
         displaySubMenu("Member Menu", 3, (choice) -> {
             switch (choice) {
                 case 1 -> loginUser(authenticationService::authenticateMember, () -> {
-                    if (currentUser instanceof Member) {
-                        new MemberDashboard(bookService, memberService, (Member) currentUser).showMenu();
+                    if (currentUser instanceof Member member) {
+                        Session session = sessionStore.createMemberSession(member);
+                        try {
+                            new MemberDashboard(bookService, memberService, circulationService, session).showMenu();
+                        } finally {
+                            sessionStore.invalidate(session.token());
+                        }
                     } else {
                         System.out.println("User is not a member.");
                     }
@@ -113,8 +296,13 @@ public class MainMenu {
         displaySubMenu("Librarian Menu", 3, (choice) -> {
             switch (choice) {
                 case 1 -> loginUser(authenticationService::authenticateLibrarian, () -> {
-                    if (currentUser instanceof Librarian) {
-                        new LibrarianDashboard(bookService, memberService, librarianService, (Librarian) currentUser).showMenu();
+                    if (currentUser instanceof Librarian librarian) {
+                        Session session = sessionStore.createLibrarianSession(librarian);
+                        try {
+                            new LibrarianDashboard(bookService, memberService, librarianService, circulationService, session, sessionStore).showMenu();
+                        } finally {
+                            sessionStore.invalidate(session.token());
+                        }
                     } else {
                         System.out.println("User is not a librarian.");
                     }
@@ -130,7 +318,7 @@ public class MainMenu {
             switch (choice) {
                 case 1 -> loginUser(authenticationService::authenticateAdmin, () -> {
                     if (currentUser instanceof Admin) {
-                        new AdminDashboard(librarianService).showMenu();
+                        new AdminDashboard(librarianService, sessionStore).showMenu();
                     } else {
                         System.out.println("User is not an admin.");
                     }
@@ -192,6 +380,9 @@ public class MainMenu {
             } else {
                 System.out.println("Invalid credentials. Please try again.");
             }
+        } catch (RejectedExecutionException e) {
+            logger.warn("Login rejected: {}", e.getMessage());
+            System.out.println("The system is busy. Please try again in a moment.");
         } catch (Exception e) {
             logger.error("Error during login", e);
             System.out.println("An error occurred during login. Please try again.");
@@ -218,13 +409,17 @@ public class MainMenu {
             System.out.println("Enter the Password:");
             String password = scanner.nextLine();
 
-            if (isValidEmail(email)) { // Check if email is valid
+            if (memberService.isUserNameExists(userName)) {
+                System.out.println("Username already exists. Please try another.");
+            } else if (!isValidEmail(email)) {
+                System.out.println("Invalid email format.");
+            } else if (memberService.isEmailExists(email)) {
+                System.out.println("Email already exists. Please try another.");
+            } else {
                 Member member = new Member(userName, email, password);
                 member.setActive(true);
                 memberService.addMember(member);
                 System.out.println("Member registered successfully!");
-            } else {
-                System.out.println("Invalid email format.");
             }
         } catch (Exception e) {
             logger.error("Error during member registration", e);
@@ -274,10 +469,26 @@ public class MainMenu {
 
     private static void exitApplication() {
         System.out.println("Shutting down the system...");
+        logStats();
+        circulationService.shutdown();
+        fineAccrualJob.close();
+        activityCounters.close();
+        if (metricsServer != null) {
+            metricsServer.close();
+        }
         // Perform any necessary cleanup here
         System.exit(0);
     }
 
+    private static void logStats() {
+        bookCache.logStats();
+        bookService.logStats();
+        memberCache.logStats();
+        passwordHashingService.logStats();
+        daoMetrics.logSummary();
+        DatabaseConnection.getRouter().logStats();
+    }
+
     private static boolean isValidEmail(String email) {
         String emailRegex = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
         return email != null && email.matches(emailRegex);
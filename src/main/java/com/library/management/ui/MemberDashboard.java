@@ -1,12 +1,17 @@
 package com.library.management.ui;
 
+import com.library.management.dao.MemberColumn;
 import com.library.management.entity.Book;
 import com.library.management.entity.BookBorrow;
 import com.library.management.entity.Member;
+import com.library.management.entity.PopularBook;
 import com.library.management.service.BookService;
+import com.library.management.service.CirculationService;
 import com.library.management.service.MemberService;
+import com.library.management.service.PopularityService;
+import com.library.management.session.ChangeTracker;
+import com.library.management.session.Session;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
@@ -14,16 +19,23 @@ import java.util.Scanner;
 public class MemberDashboard {
     private final MemberService memberService;
     private final BookService bookService;
-    private Member currentMember; // This should be used consistently
+    private final CirculationService circulationService;
+    private final Session session;
+    private Member currentMember; // The session's copy; used consistently instead of fetching again
     private final Scanner scanner = new Scanner(System.in);
+    private static final int PAGE_SIZE = 20;
+    private static final int TRENDING_LIMIT = 10;
 
-    public MemberDashboard(BookService bookService, MemberService memberService, Member currentMember) {
+    public MemberDashboard(BookService bookService, MemberService memberService, CirculationService circulationService, Session session) {
         this.bookService = bookService;
         this.memberService = memberService;
-        this.currentMember = currentMember;
+        this.circulationService = circulationService;
+        this.session = session;
+        this.currentMember = session.user(Member.class);
     }
 
     public void showMenu() {
+        loadBorrowedBooks();
         while (true) {
             System.out.println("Member Dashboard");
             System.out.println("1. Update Member Information");
@@ -32,10 +44,11 @@ public class MemberDashboard {
             System.out.println("4. View Borrowed Books");
             System.out.println("5. Borrow a Book");
             System.out.println("6. Return a Book");
-            System.out.println("7. Exit");
+            System.out.println("7. Trending Books");
+            System.out.println("8. Exit");
             System.out.print("Choose an option: ");
 
-            int choice = getValidChoice(7);
+            int choice = getValidChoice(8);
 
             switch (choice) {
                 case 1 -> updateMemberInformation();
@@ -44,7 +57,8 @@ public class MemberDashboard {
                 case 4 -> viewBorrowedBooks();
                 case 5 -> borrowBook();
                 case 6-> returnBook();
-                case 7 -> {
+                case 7 -> viewTrendingBooks();
+                case 8 -> {
                     System.out.println("Exiting Member Dashboard.");
                     return;
                 }
@@ -59,6 +73,8 @@ public class MemberDashboard {
             return;
         }
 
+        ChangeTracker<Member, MemberColumn> tracker = session.tracker(MemberColumn.class);
+        tracker.lock().lock();
         try {
             System.out.println("Updating information for Member: " + currentMember.getUserName());
             System.out.println("Enter new Username (current: " + currentMember.getUserName() + "):");
@@ -80,14 +96,24 @@ public class MemberDashboard {
                     currentMember.setEmail(email);
                 } else {
                     System.out.println("Invalid email format.");
+                    tracker.revert();
                     return;
                 }
             }
 
+            // Only the columns that changed are written
+            if (!tracker.isDirty()) {
+                System.out.println("Nothing to update.");
+                return;
+            }
             memberService.updateMember(currentMember);
+            tracker.markClean();
             System.out.println("Member information updated successfully!");
         } catch (Exception e) {
+            tracker.revert();
             System.out.println("An error occurred while updating the member. Please try again.");
+        } finally {
+            tracker.lock().unlock();
         }
     }
 
@@ -118,18 +144,47 @@ public class MemberDashboard {
 
     private void viewAllBooks() {
         try {
-            List<Book> books = bookService.getAllBooks();
-            if (books.isEmpty()) {
+            boolean found = PagedListing.show(scanner, PAGE_SIZE, "All Books:", bookService::getBooksPage, Book::getBookId, book ->
+                    System.out.println("Book ID: " + book.getBookId() + ", Title: " + book.getTitle() +
+                            ", Author: " + book.getAuthor() + ", ISBN: " + book.getIsbn()));
+            if (!found) {
                 System.out.println("No books available.");
+            }
+        } catch (Exception e) {
+            System.out.println("An error occurred while retrieving the list of books: " + e.getMessage());
+        }
+    }
+
+    private void viewTrendingBooks() {
+        try {
+            System.out.println("1. Today  2. This Week  3. This Month");
+            System.out.print("Choose a period: ");
+            PopularityService.Window window = PopularityService.Window.values()[getValidChoice(3) - 1];
+            List<PopularBook> trending = circulationService.getTrendingBooks(window, TRENDING_LIMIT);
+            if (trending.isEmpty()) {
+                System.out.println("Nothing has been borrowed in this period yet.");
             } else {
-                System.out.println("All Books:");
-                for (Book book : books) {
-                    System.out.println("Book ID: " + book.getBookId() + ", Title: " + book.getTitle() +
-                            ", Author: " + book.getAuthor() + ", ISBN: " + book.getIsbn());
+                System.out.println("Trending Books:");
+                int rank = 1;
+                for (PopularBook popular : trending) {
+                    Book book = popular.book();
+                    System.out.println(rank++ + ". Book ID: " + book.getBookId() + ", Title: " + book.getTitle() +
+                            ", Author: " + book.getAuthor() + ", Borrows: " + popular.borrows());
                 }
             }
         } catch (Exception e) {
-            System.out.println("An error occurred while retrieving the list of books: " + e.getMessage());
+            System.out.println("An error occurred while retrieving trending books: " + e.getMessage());
+        }
+    }
+
+    private void loadBorrowedBooks() {
+        if (currentMember == null) {
+            return;
+        }
+        try {
+            circulationService.loadActiveBorrows(currentMember);
+        } catch (Exception e) {
+            System.out.println("Could not load your borrowed books: " + e.getMessage());
         }
     }
 
@@ -172,23 +227,12 @@ public class MemberDashboard {
                 return;
             }
 
-            Optional<Book> optionalBook = bookService.getBookById(bookId);
-            if (optionalBook.isPresent()) {
-                Book book = optionalBook.get();
-
-                if (book.isAvailable() && book.getQuantity() > 0) {
-                    BookBorrow borrow = new BookBorrow(currentMember, book, LocalDate.now(), LocalDate.now().plusWeeks(2));
-                    currentMember.addBookBorrow(borrow);
-                    book.setAvailable(false);
-                    book.setQuantity(book.getQuantity() - 1);
-                    book.setBorrowCount(book.getBorrowCount() + 1);
-
-                    memberService.updateMember(currentMember);
-                    bookService.updateBook(book);
-                    System.out.println("Successfully borrowed the book: " + book.getTitle());
-                } else {
-                    System.out.println("The book is not available or all copies are borrowed.");
-                }
+            Optional<BookBorrow> optionalBorrow = circulationService.borrowBook(currentMember, bookId);
+            if (optionalBorrow.isPresent()) {
+                Book book = optionalBorrow.get().getBook();
+                System.out.println("Successfully borrowed the book: " + book.getTitle());
+            } else if (bookService.getBookById(bookId).isPresent()) {
+                System.out.println("The book is not available or all copies are borrowed.");
             } else {
                 System.out.println("Book not found.");
             }
@@ -211,11 +255,11 @@ public class MemberDashboard {
             if (optionalBorrow.isPresent()) {
                 BookBorrow borrow = optionalBorrow.get();
                 Book book = borrow.getBook();
-                currentMember.removeBookBorrow(borrow);
-                book.setAvailable(true);
-                bookService.updateBook(book);
-                memberService.updateMember(currentMember);
-                System.out.println("Successfully returned the book: " + book.getTitle());
+                if (circulationService.returnBook(currentMember, borrow)) {
+                    System.out.println("Successfully returned the book: " + book.getTitle());
+                } else {
+                    System.out.println("This book has already been returned.");
+                }
             } else {
                 System.out.println("You have not borrowed this book.");
             }
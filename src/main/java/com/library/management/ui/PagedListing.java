@@ -0,0 +1,42 @@
+package com.library.management.ui;
+
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+// Prints a keyset-paginated listing one page at a time, asking before each further page
+final class PagedListing {
+
+    @FunctionalInterface
+    interface PageLoader<T> {
+        // The next pageSize rows with an ID greater than afterId, in ID order
+        List<T> load(int afterId, int pageSize);
+    }
+
+    private PagedListing() {
+    }
+
+    // Prints the heading and then the pages; false when there was nothing to list
+    static <T> boolean show(Scanner scanner, int pageSize, String heading, PageLoader<T> loader,
+                            ToIntFunction<T> idOf, Consumer<T> printer) {
+        List<T> page = loader.load(0, pageSize);
+        if (page.isEmpty()) {
+            return false;
+        }
+        System.out.println(heading);
+        while (!page.isEmpty()) {
+            page.forEach(printer);
+            if (page.size() < pageSize || !askForNextPage(scanner)) {
+                break;
+            }
+            page = loader.load(idOf.applyAsInt(page.get(page.size() - 1)), pageSize);
+        }
+        return true;
+    }
+
+    private static boolean askForNextPage(Scanner scanner) {
+        System.out.print("Press Enter for the next page or type 'q' to stop: ");
+        return !scanner.nextLine().trim().equalsIgnoreCase("q");
+    }
+}
@@ -0,0 +1,83 @@
+package com.library.management.util;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch over int keys. {@link #estimate} never returns less than the true count of a
+ * key, and exceeds it by more than {@code e / width} of the total count with probability at most
+ * {@code e^-depth}. A sketch can subtract another of the same shape cell by cell, so a sliding
+ * window can drop an expired bucket exactly. Not thread-safe; callers guard it.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int[] counts; // depth rows of width cells
+    private long total;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counts = new int[width * depth];
+    }
+
+    public void add(int key, int count) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1; // odd, so the rows never collapse onto one cell
+        for (int row = 0; row < depth; row++) {
+            counts[row * width + Math.floorMod(h1 + row * h2, width)] += count;
+        }
+        total += count;
+    }
+
+    public int estimate(int key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return estimate;
+    }
+
+    // Sum of all counts added, less those subtracted
+    public long total() {
+        return total;
+    }
+
+    // Only exact for a sketch whose counts were all added to this one
+    public void subtractAll(CountMinSketch other) {
+        checkShape(other);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] -= other.counts[i];
+        }
+        total -= other.total;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    private void checkShape(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Sketches differ in width or depth");
+        }
+    }
+
+    // MurmurHash3 fmix64 of the key
+    private static long hash64(int key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,210 @@
+package com.library.management.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Connection pool settings, resolved in increasing order of precedence from built-in defaults,
+ * {@code database.properties} on the classpath, the file named by {@code DB_CONFIG}, and
+ * environment variables. Keys prefixed with {@code datasource.} are passed to Connector/J as
+ * driver properties and override the profile's.
+ * <p>
+ * The {@code tuned} profile (the default) enables client and server prepared-statement caching,
+ * so the SQL in each DAO is parsed once per connection rather than on every prepareStatement,
+ * and cuts the driver's per-statement round trips. {@code basic} keeps only batch rewriting.
+ */
+public final class DatabaseConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
+    private static final String DATASOURCE_PREFIX = "datasource.";
+
+    private static final Map<String, String> ENVIRONMENT_KEYS = Map.ofEntries(
+            Map.entry("DB_URL", "db.url"),
+            Map.entry("DB_USER", "db.user"),
+            Map.entry("DB_PASSWORD", "db.password"),
+            Map.entry("DB_PROFILE", "db.profile"),
+            Map.entry("DB_POOL_SIZE", "pool.maximumPoolSize"),
+            Map.entry("DB_MIN_IDLE", "pool.minimumIdle"),
+            Map.entry("DB_CONNECTION_TIMEOUT_MS", "pool.connectionTimeoutMs"),
+            Map.entry("DB_IDLE_TIMEOUT_MS", "pool.idleTimeoutMs"),
+            Map.entry("DB_MAX_LIFETIME_MS", "pool.maxLifetimeMs"),
+            Map.entry("DB_LEAK_DETECTION_MS", "pool.leakDetectionThresholdMs"),
+            Map.entry("DB_REPLICA_URL", "replica.url"),
+            Map.entry("DB_REPLICA_USER", "replica.user"),
+            Map.entry("DB_REPLICA_PASSWORD", "replica.password"),
+            Map.entry("DB_REPLICA_MAX_LAG_MS", "replica.maxLagMs"),
+            Map.entry("DB_REPLICA_LAG_PROBE", "replica.lagProbe"));
+
+    private static final Map<String, String> TUNED_DRIVER_PROPERTIES = orderedMap(
+            "cachePrepStmts", "true",
+            "prepStmtCacheSize", "250",
+            "prepStmtCacheSqlLimit", "2048",
+            "useServerPrepStmts", "true",
+            "rewriteBatchedStatements", "true",
+            "useLocalSessionState", "true",
+            "elideSetAutoCommits", "true",
+            "cacheResultSetMetadata", "true",
+            "cacheServerConfiguration", "true",
+            "maintainTimeStats", "false");
+
+    private static final Map<String, String> BASIC_DRIVER_PROPERTIES = Map.of("rewriteBatchedStatements", "true");
+
+    private final Properties properties;
+
+    private DatabaseConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static DatabaseConfig load() {
+        Properties properties = new Properties();
+        try (InputStream in = DatabaseConfig.class.getClassLoader().getResourceAsStream("database.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read database.properties from the classpath", e);
+        }
+        String file = System.getenv("DB_CONFIG");
+        if (file != null && !file.isBlank()) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file.trim()), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read database configuration " + file, e);
+            }
+        }
+        ENVIRONMENT_KEYS.forEach((variable, key) -> {
+            String value = System.getenv(variable);
+            if (value != null) {
+                properties.setProperty(key, value);
+            }
+        });
+        return new DatabaseConfig(properties);
+    }
+
+    public String profile() {
+        return get("db.profile", "tuned").toLowerCase();
+    }
+
+    // Profile driver properties overlaid with any datasource.* keys
+    public Map<String, String> driverProperties() {
+        Map<String, String> driverProperties = new LinkedHashMap<>(switch (profile()) {
+            case "tuned" -> TUNED_DRIVER_PROPERTIES;
+            case "basic" -> BASIC_DRIVER_PROPERTIES;
+            default -> throw new IllegalArgumentException("Unknown db.profile: " + profile() + " (expected tuned or basic)");
+        });
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            if (key.startsWith(DATASOURCE_PREFIX)) {
+                driverProperties.put(key.substring(DATASOURCE_PREFIX.length()), properties.getProperty(key));
+            }
+        }
+        return driverProperties;
+    }
+
+    public HikariConfig toHikariConfig() {
+        return poolConfig("library-pool", get("db.url", "jdbc:mysql://localhost:3306/librarydb"),
+                get("db.user", "root"), get("db.password", "root"));
+    }
+
+    public boolean hasReplica() {
+        return get("replica.url", null) != null;
+    }
+
+    // Same pool settings as the primary; credentials default to the primary's
+    public HikariConfig toReplicaHikariConfig() {
+        if (!hasReplica()) {
+            throw new IllegalStateException("No replica.url configured");
+        }
+        HikariConfig config = poolConfig("library-replica-pool", get("replica.url", null),
+                get("replica.user", get("db.user", "root")), get("replica.password", get("db.password", "root")));
+        config.setReadOnly(true);
+        return config;
+    }
+
+    public Duration replicaMaxLag() {
+        return Duration.ofMillis(getLong("replica.maxLagMs", 2_000));
+    }
+
+    public Duration replicaLagCheckInterval() {
+        return Duration.ofMillis(getLong("replica.lagCheckIntervalMs", 1_000));
+    }
+
+    public ReadWriteRouter.LagProbe replicaLagProbe() {
+        return switch (get("replica.lagProbe", "mysql").toLowerCase()) {
+            case "mysql" -> ReadWriteRouter.LagProbe.mysql();
+            case "none" -> ReadWriteRouter.LagProbe.none();
+            default -> throw new IllegalArgumentException("Unknown replica.lagProbe: " + get("replica.lagProbe", null)
+                    + " (expected mysql or none)");
+        };
+    }
+
+    private HikariConfig poolConfig(String poolName, String jdbcUrl, String user, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        config.setPoolName(poolName);
+
+        int maximumPoolSize = getInt("pool.maximumPoolSize", 10);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(getInt("pool.minimumIdle", maximumPoolSize));
+        config.setConnectionTimeout(getLong("pool.connectionTimeoutMs", 30_000));
+        config.setIdleTimeout(getLong("pool.idleTimeoutMs", 600_000));
+        config.setMaxLifetime(getLong("pool.maxLifetimeMs", 1_800_000));
+        // Logs a stack trace for any connection held longer than this; 0 disables it
+        config.setLeakDetectionThreshold(getLong("pool.leakDetectionThresholdMs", "tuned".equals(profile()) ? 60_000 : 0));
+        driverProperties().forEach(config::addDataSourceProperty);
+        return config;
+    }
+
+    public void logEffectiveSettings(HikariConfig config) {
+        logger.info("Database pool '{}': url={}, user={}, profile={}, maximumPoolSize={}, minimumIdle={}, connectionTimeout={} ms, " +
+                        "idleTimeout={} ms, maxLifetime={} ms, leakDetectionThreshold={} ms",
+                config.getPoolName(), config.getJdbcUrl(), config.getUsername(), profile(), config.getMaximumPoolSize(),
+                config.getMinimumIdle(), config.getConnectionTimeout(), config.getIdleTimeout(), config.getMaxLifetime(),
+                config.getLeakDetectionThreshold());
+        logger.info("Database driver properties: {}", driverProperties());
+    }
+
+    private String get(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private int getInt(String key, int defaultValue) {
+        return Math.toIntExact(getLong(key, defaultValue));
+    }
+
+    private long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value, e);
+        }
+    }
+
+    private static Map<String, String> orderedMap(String... keysAndValues) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -2,29 +2,53 @@ package com.library.management.util;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 
 import javax.sql.DataSource;
 public class DatabaseConnection
 {
     private static final HikariDataSource dataSource;
+    private static final HikariDataSource replicaDataSource;
+    private static final ReadWriteRouter router;
 
     static {
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(System.getenv("DB_URL") != null ? System.getenv("DB_URL") : "jdbc:mysql://localhost:3306/librarydb");
-        config.setUsername(System.getenv("DB_USER") != null ? System.getenv("DB_USER") : "root");
-        config.setPassword(System.getenv("DB_PASSWORD") != null ? System.getenv("DB_PASSWORD") : "root");
-        config.setDriverClassName("com.mysql.cj.jdbc.Driver");
-
-        // Optional configuration settings
-        config.setMaximumPoolSize(10);
-        config.setConnectionTimeout(30000); // 30 seconds
+        DatabaseConfig settings = DatabaseConfig.load();
+        HikariConfig config = settings.toHikariConfig();
+        // Publishes pool usage over JMX as com.zaxxer.hikari:type=Pool (library-pool)
+        config.setRegisterMbeans(true);
+        settings.logEffectiveSettings(config);
         dataSource = new HikariDataSource(config);
+
+        // Optional read replica (replica.url / DB_REPLICA_URL)
+        if (settings.hasReplica()) {
+            HikariConfig replicaConfig = settings.toReplicaHikariConfig();
+            replicaConfig.setRegisterMbeans(true);
+            settings.logEffectiveSettings(replicaConfig);
+            replicaDataSource = new HikariDataSource(replicaConfig);
+            router = new ReadWriteRouter(dataSource, replicaDataSource, settings.replicaMaxLag());
+            router.startLagMonitor(settings.replicaLagCheckInterval(), settings.replicaLagProbe());
+        } else {
+            replicaDataSource = null;
+            router = new ReadWriteRouter(dataSource);
+        }
     }
 
     public static DataSource getDataSource() {
         return dataSource;
     }
+
+    public static ReadWriteRouter getRouter() {
+        return router;
+    }
+
+    public static HikariPoolMXBean getPoolMXBean() {
+        return dataSource.getHikariPoolMXBean();
+    }
     public static void close() {
+        router.close();
+        if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+            replicaDataSource.close();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
         }
@@ -0,0 +1,191 @@
+package com.library.management.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses between the primary and an optional read replica for each DAO call.
+ * <p>
+ * Writes and reads that must be current use the primary. Reads that tolerate slight staleness
+ * (listings, searches, reports) use the replica only while its measured lag is within
+ * {@code maxLag} and no write has gone through this router within the read-your-writes window, so
+ * a user never reads back an older version of something they just changed. The window is global
+ * rather than per thread because the API and the async facades run each call on a new virtual
+ * thread. Until the lag has been measured, or when the measurement is stale or fails, every read
+ * goes to the primary.
+ */
+public class ReadWriteRouter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRouter.class);
+    private static final long UNKNOWN = -1;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagNanos;
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+    private volatile long replicaLagMillis = UNKNOWN;
+    private volatile long lagMeasuredAtNanos;
+    private volatile long readYourWritesNanos;
+    private volatile long staleAfterNanos;
+    private ScheduledExecutorService lagMonitor;
+
+    // Routes everything to a single database
+    public ReadWriteRouter(DataSource primary) {
+        this(primary, null, Duration.ZERO);
+    }
+
+    public ReadWriteRouter(DataSource primary, DataSource replica, Duration maxLag) {
+        if (primary == null) {
+            throw new IllegalArgumentException("Primary data source cannot be null");
+        }
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagNanos = maxLag.toNanos();
+        this.readYourWritesNanos = maxLag.toNanos();
+    }
+
+    // For inserts, updates and deletes; pins all reads to the primary for a while
+    public DataSource writer() {
+        if (replica != null) {
+            lastWriteNanos = System.nanoTime();
+            written = true;
+        }
+        return primary;
+    }
+
+    // For reads that must see the latest committed data
+    public DataSource primary() {
+        return primary;
+    }
+
+    // For reads that can be served slightly stale
+    public DataSource reader() {
+        if (replicaUsable()) {
+            replicaReads.increment();
+            return replica;
+        }
+        primaryReads.increment();
+        return primary;
+    }
+
+    public boolean hasReplica() {
+        return replica != null;
+    }
+
+    // -1 while unknown
+    public long replicaLagMillis() {
+        return replicaLagMillis;
+    }
+
+    /**
+     * Measures replica lag every {@code interval}. The read-your-writes window becomes
+     * {@code maxLag + interval}: a write is visible on the replica by then whenever the lag was
+     * within bounds at the previous check.
+     */
+    public synchronized void startLagMonitor(Duration interval, LagProbe probe) {
+        if (replica == null || lagMonitor != null) {
+            return;
+        }
+        readYourWritesNanos = maxLagNanos + interval.toNanos();
+        staleAfterNanos = 3 * interval.toNanos();
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagMonitor.scheduleWithFixedDelay(() -> checkLag(probe), 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Exposed so a lag measured elsewhere (or a test) can drive the routing
+    public void recordReplicaLag(long lagMillis) {
+        boolean wasUsable = replicaLagMillis >= 0 && TimeUnit.MILLISECONDS.toNanos(replicaLagMillis) <= maxLagNanos;
+        boolean usable = lagMillis >= 0 && TimeUnit.MILLISECONDS.toNanos(lagMillis) <= maxLagNanos;
+        replicaLagMillis = lagMillis;
+        lagMeasuredAtNanos = System.nanoTime();
+        if (wasUsable != usable) {
+            logger.info(usable ? "Replica caught up (lag {} ms), serving reads from it" : "Replica lag {} ms, reading from the primary",
+                    lagMillis);
+        }
+    }
+
+    public void logStats() {
+        if (replica != null) {
+            logger.info("Read routing stats: replicaReads={}, primaryReads={}, replicaLag={} ms",
+                    replicaReads.sum(), primaryReads.sum(), replicaLagMillis);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (lagMonitor != null) {
+            lagMonitor.shutdownNow();
+        }
+    }
+
+    private boolean replicaUsable() {
+        if (replica == null) {
+            return false;
+        }
+        long lag = replicaLagMillis;
+        long now = System.nanoTime();
+        if (lag < 0 || TimeUnit.MILLISECONDS.toNanos(lag) > maxLagNanos
+                || (staleAfterNanos > 0 && now - lagMeasuredAtNanos > staleAfterNanos)) {
+            return false;
+        }
+        return !written || now - lastWriteNanos > readYourWritesNanos;
+    }
+
+    private void checkLag(LagProbe probe) {
+        try (Connection connection = replica.getConnection()) {
+            OptionalLong lag = probe.lagMillis(connection);
+            if (lag.isEmpty()) {
+                logger.warn("Replica reports no replication status, reading from the primary");
+            }
+            recordReplicaLag(lag.orElse(UNKNOWN));
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Could not measure replica lag, reading from the primary: {}", e.getMessage());
+            recordReplicaLag(UNKNOWN);
+        }
+    }
+
+    @FunctionalInterface
+    public interface LagProbe {
+        // Empty when the lag cannot be determined, e.g. replication is stopped
+        OptionalLong lagMillis(Connection replica) throws SQLException;
+
+        // Seconds_Behind_Source from SHOW REPLICA STATUS (MySQL 8.0.22 and later)
+        static LagProbe mysql() {
+            return connection -> {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS")) {
+                    if (!resultSet.next()) {
+                        return OptionalLong.empty();
+                    }
+                    long seconds = resultSet.getLong("Seconds_Behind_Source");
+                    return resultSet.wasNull() ? OptionalLong.empty() : OptionalLong.of(TimeUnit.SECONDS.toMillis(seconds));
+                }
+            };
+        }
+
+        // Treats the replica as always current; for local setups without real replication
+        static LagProbe none() {
+            return connection -> OptionalLong.of(0);
+        }
+    }
+}